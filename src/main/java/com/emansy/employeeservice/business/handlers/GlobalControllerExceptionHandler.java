@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.servlet.http.HttpServletRequest;
@@ -42,4 +43,11 @@ public class GlobalControllerExceptionHandler {
                 ex.getMessage(), request.getRequestURI());
         return new ResponseEntity<>(errorModel, ex.getStatusCode());
     }
+
+    @ExceptionHandler(HttpServerErrorException.class)
+    protected ResponseEntity<ErrorModel> handle(HttpServerErrorException ex, HttpServletRequest request) {
+        ErrorModel errorModel = new ErrorModel(LocalDateTime.now(), ex.getRawStatusCode(), ex.getStatusText(),
+                ex.getMessage(), request.getRequestURI());
+        return new ResponseEntity<>(errorModel, ex.getStatusCode());
+    }
 }
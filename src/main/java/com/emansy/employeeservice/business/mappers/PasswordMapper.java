@@ -0,0 +1,18 @@
+package com.emansy.employeeservice.business.mappers;
+
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class PasswordMapper {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Named("encode")
+    public String encode(String password) {
+        return passwordEncoder.encode(password);
+    }
+}
@@ -5,10 +5,8 @@ import com.emansy.employeeservice.model.UserDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = PasswordMapper.class)
 public interface UserMapper {
 
     @Mapping(target = "password", qualifiedByName = "encode")
@@ -17,12 +15,6 @@ public interface UserMapper {
     @Mapping(target = "password", qualifiedByName = "hide")
     UserDto entityToDto(UserEntity userEntity);
 
-    @Named("encode")
-    default String encode(String password) {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        return passwordEncoder.encode(password);
-    }
-
     @Named("hide")
     default String hide(String ignoredPassword) {
         return "********";
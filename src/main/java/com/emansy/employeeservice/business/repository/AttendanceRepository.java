@@ -0,0 +1,15 @@
+package com.emansy.employeeservice.business.repository;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+public interface AttendanceRepository {
+
+    void insertAttendances(Long eventId, Collection<Long> employeeIds);
+
+    void deleteAttendances(Long eventId, Collection<Long> employeeIds);
+
+    void deleteAllAttendances(Long eventId);
+
+    void forEachAttendance(BiConsumer<Long, Long> attendanceConsumer);
+}
@@ -0,0 +1,71 @@
+package com.emansy.employeeservice.business.repository;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+@Log4j2
+public class AttendanceRepositoryImpl implements AttendanceRepository {
+
+    private static final String INSERT_ATTENDANCE = "insert into event_attended (event_id, employee_id) values (?, ?)";
+
+    private static final String DELETE_ATTENDANCE = "delete from event_attended where event_id = ? and employee_id = ?";
+
+    private static final String DELETE_ALL_ATTENDANCES = "delete from event_attended where event_id = ?";
+
+    private static final String SELECT_ATTENDANCES = "select event_id, employee_id from event_attended";
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    public AttendanceRepositoryImpl(
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAttendances(Long eventId, Collection<Long> employeeIds) {
+        batchUpdate(INSERT_ATTENDANCE, eventId, employeeIds);
+        log.debug("{} attendances of the event with id {} are inserted", employeeIds.size(), eventId);
+    }
+
+    @Override
+    public void deleteAttendances(Long eventId, Collection<Long> employeeIds) {
+        batchUpdate(DELETE_ATTENDANCE, eventId, employeeIds);
+        log.debug("{} attendances of the event with id {} are deleted", employeeIds.size(), eventId);
+    }
+
+    @Override
+    public void deleteAllAttendances(Long eventId) {
+        entityManager.flush();
+        int deleted = jdbcTemplate.update(DELETE_ALL_ATTENDANCES, eventId);
+        log.debug("All {} attendances of the event with id {} are deleted", deleted, eventId);
+    }
+
+    @Override
+    public void forEachAttendance(BiConsumer<Long, Long> attendanceConsumer) {
+        jdbcTemplate.query(SELECT_ATTENDANCES, resultSet -> {
+            attendanceConsumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+        });
+    }
+
+    private void batchUpdate(String sql, Long eventId, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) return;
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(sql, employeeIds, batchSize, (preparedStatement, employeeId) -> {
+            preparedStatement.setLong(1, eventId);
+            preparedStatement.setLong(2, employeeId);
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.CountryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+@Repository
+public interface CountryRepository extends JpaRepository<CountryEntity, String> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<CountryEntity> findAll();
+}
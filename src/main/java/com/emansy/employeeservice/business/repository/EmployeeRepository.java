@@ -1,13 +1,57 @@
 package com.emansy.employeeservice.business.repository;
 
 import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
 
+    String SELECT_EMPLOYEE_ROWS = "select new com.emansy.employeeservice.business.repository.model.EmployeeRow("
+            + "e.id, e.firstName, e.lastName, e.email, e.phone, j.id, j.name, "
+            + "o.id, o.name, o.streetAddress, o.city, c.code, c.name, e.workingStartTime, e.workingEndTime, v.id) "
+            + "from EmployeeEntity e left join e.jobTitleEntity j left join e.officeEntity o "
+            + "left join o.countryEntity c left join e.eventIdEntities v ";
+
+    String ATTENDING = "exists (select a.id from EventIdEntity x join x.employeeEntities a "
+            + "where x.id = :eventId and a.id = e.id) ";
+
+    @EntityGraph(attributePaths = {"jobTitleEntity", "officeEntity.countryEntity", "eventIdEntities"})
     Set<EmployeeEntity> findAllByIdIn(Set<Long> employeeIds);
+
+    @Query(SELECT_EMPLOYEE_ROWS + "order by e.id")
+    List<EmployeeRow> findAllRows();
+
+    @Query(SELECT_EMPLOYEE_ROWS + "where e.id in :employeeIds order by e.id")
+    List<EmployeeRow> findAllRowsByIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+
+    @Query(SELECT_EMPLOYEE_ROWS + "order by e.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<EmployeeRow> streamAllRows();
+
+    @Query("select e.id from EmployeeEntity e")
+    List<Long> findAllIds();
+
+    @Query("select e.id from EmployeeEntity e where e.id > :afterId order by e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_EMPLOYEE_ROWS + "where " + ATTENDING + "order by e.id")
+    List<EmployeeRow> findAllRowsAttending(@Param("eventId") Long eventId);
+
+    @Query(SELECT_EMPLOYEE_ROWS + "where not " + ATTENDING + "order by e.id")
+    List<EmployeeRow> findAllRowsNotAttending(@Param("eventId") Long eventId);
 }
@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface EventIdRepository extends JpaRepository<EventIdEntity, Long> {
+public interface EventIdRepository extends JpaRepository<EventIdEntity, Long>, AttendanceRepository {
 }
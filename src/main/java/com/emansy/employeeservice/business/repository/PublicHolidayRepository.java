@@ -0,0 +1,33 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.PublicHolidayEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+public interface PublicHolidayRepository extends JpaRepository<PublicHolidayEntity, Long> {
+
+    List<PublicHolidayEntity> findAllByCountryCode(String countryCode);
+
+    @Modifying
+    @Query("delete from PublicHolidayEntity p where p.countryCode = :countryCode")
+    void deleteAllByCountryCode(@Param("countryCode") String countryCode);
+
+    @Transactional
+    default void replaceAllByCountryCode(String countryCode, Set<LocalDate> dates, Instant fetchedAt) {
+        deleteAllByCountryCode(countryCode);
+        saveAll(dates.stream()
+                .map(date -> new PublicHolidayEntity(null, countryCode, date, fetchedAt))
+                .collect(Collectors.toList()));
+    }
+}
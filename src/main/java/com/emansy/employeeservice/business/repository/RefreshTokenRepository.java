@@ -0,0 +1,38 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenEntity r set r.used = true where r.id = :id and r.used = false")
+    int markUsedById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshTokenEntity r where r.familyId = :familyId")
+    int revokeAllByFamilyId(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshTokenEntity r where r.userId = :userId")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshTokenEntity r where r.expiresAt < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+}
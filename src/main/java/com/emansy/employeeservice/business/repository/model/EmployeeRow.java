@@ -0,0 +1,45 @@
+package com.emansy.employeeservice.business.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeRow {
+
+    private final Long id;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String email;
+
+    private final String phone;
+
+    private final Long jobTitleId;
+
+    private final String jobTitleName;
+
+    private final Long officeId;
+
+    private final String officeName;
+
+    private final String officeStreetAddress;
+
+    private final String officeCity;
+
+    private final String countryCode;
+
+    private final String countryName;
+
+    private final LocalTime workingStartTime;
+
+    private final LocalTime workingEndTime;
+
+    private final Long eventId;
+}
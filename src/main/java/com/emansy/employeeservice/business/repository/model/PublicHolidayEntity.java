@@ -0,0 +1,36 @@
+package com.emansy.employeeservice.business.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "public_holiday")
+public class PublicHolidayEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "country_code")
+    private String countryCode;
+
+    @Column(name = "holiday_date")
+    private LocalDate date;
+
+    @Column(name = "fetched_at")
+    private Instant fetchedAt;
+}
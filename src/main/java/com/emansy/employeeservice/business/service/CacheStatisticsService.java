@@ -0,0 +1,10 @@
+package com.emansy.employeeservice.business.service;
+
+import com.emansy.employeeservice.model.CacheStatisticsDto;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+
+    List<CacheStatisticsDto> findAll();
+}
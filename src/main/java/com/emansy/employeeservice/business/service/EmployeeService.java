@@ -1,17 +1,25 @@
 package com.emansy.employeeservice.business.service;
 
+import com.emansy.employeeservice.model.AttendeeIdsDto;
 import com.emansy.employeeservice.model.EmployeeDto;
+import com.emansy.employeeservice.model.EmployeePageDto;
 import com.emansy.employeeservice.model.EventDto;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     List<EmployeeDto> findAll();
 
+    EmployeePageDto findPage(Long afterId, int size);
+
+    long streamAll(Consumer<EmployeeDto> employeeDtoConsumer);
+
     Optional<EmployeeDto> findById(Long id);
 
     EmployeeDto save(EmployeeDto employeeDto);
@@ -29,9 +37,16 @@ public interface EmployeeService {
     Set<EventDto> findAttendedEventsBetween(Set<Long> employeeIds, String fromDate, String thruDate)
             throws ExecutionException, InterruptedException;
 
+    CompletableFuture<Set<EventDto>> findAttendedEventsBetweenAsync(Set<Long> employeeIds, String fromDate, String thruDate);
+
     EventDto attendEvent(Set<Long> employeeIds, EventDto eventDto) throws ExecutionException, InterruptedException;
 
     EventDto unattendEvent(Set<Long> employeeIds, EventDto eventDto);
 
+    void updateEvent(EventDto eventDto);
+
     EventDto unattendAndDeleteEvent(EventDto eventDto);
+
+    List<EventDto> handleAttendanceRequests(List<AttendeeIdsDto> attendeeIdsDtos)
+            throws ExecutionException, InterruptedException;
 }
@@ -0,0 +1,9 @@
+package com.emansy.employeeservice.business.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public interface PublicHolidayService {
+
+    Set<LocalDate> findPublicHolidays(Set<String> countryCodes);
+}
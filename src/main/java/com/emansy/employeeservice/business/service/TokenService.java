@@ -1,42 +1,162 @@
 package com.emansy.employeeservice.business.service;
 
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.emansy.employeeservice.business.repository.model.RefreshTokenEntity;
+import com.emansy.employeeservice.security.SecurityUser;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
+@Log4j2
 @Service
 public class TokenService {
 
-    private final UserRepository userRepository;
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
 
     private final JwtEncoder jwtEncoder;
 
+    private final UserRepository userRepository;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final Duration refreshTokenTimeToLive;
+
+    private final Duration cleanupInterval;
+
+    private final ScheduledExecutorService cleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-token-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenService(
+            JwtEncoder jwtEncoder,
+            UserRepository userRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.refresh-token.time-to-live:P30D}") Duration refreshTokenTimeToLive,
+            @Value("${security.refresh-token.cleanup-interval:PT1H}") Duration cleanupInterval) {
+        this.jwtEncoder = jwtEncoder;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTimeToLive = refreshTokenTimeToLive;
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleCleanup() {
+        cleanupExecutor.scheduleWithFixedDelay(
+                this::deleteExpiredRefreshTokens, 0, cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    public void deleteExpiredRefreshTokens() {
+        try {
+            int deleted = refreshTokenRepository.deleteAllExpired(Instant.now());
+            log.info("Number of expired refresh tokens deleted is {}", deleted);
+        } catch (RuntimeException e) {
+            log.error("Expired refresh tokens are not deleted", e);
+        }
+    }
+
     public String generateToken(Authentication authentication) {
         Instant now = Instant.now();
-        String email = authentication.getName();
-        Long userId = userRepository.findByEmail(email)
-                .orElseThrow((() -> new UsernameNotFoundException("User not found: " + email)))
-                .getId();
+        SecurityUser securityUser = (SecurityUser) authentication.getPrincipal();
         JwtClaimsSet claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .expiresAt(now.plus(1, ChronoUnit.HOURS))
                 .subject(authentication.getName())
-                .claim("id", userId)
+                .claim("id", securityUser.getId())
                 .claim("role", String.valueOf(authentication.getAuthorities()))
                 .build();
         JwtEncoderParameters encoderParameters = JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims);
         return this.jwtEncoder.encode(encoderParameters).getTokenValue();
     }
+
+    @Transactional
+    public String generateRefreshToken(Authentication authentication) {
+        Long userId = ((SecurityUser) authentication.getPrincipal()).getId();
+        String familyId = authentication.getDetails() instanceof String
+                ? (String) authentication.getDetails()
+                : randomToken();
+        String refreshToken = randomToken();
+        refreshTokenRepository.save(new RefreshTokenEntity(
+                null, digest(refreshToken), familyId, userId, Instant.now().plus(refreshTokenTimeToLive), false));
+        log.info("Refresh token is issued for user with id {}", userId);
+        return refreshToken;
+    }
+
+    @Transactional(noRollbackFor = HttpClientErrorException.class)
+    public Authentication authenticateRefreshToken(String refreshToken) {
+        RefreshTokenEntity refreshTokenEntity = refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .orElseThrow(this::invalidRefreshToken);
+        if (refreshTokenEntity.isUsed() || refreshTokenRepository.markUsedById(refreshTokenEntity.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeAllByFamilyId(refreshTokenEntity.getFamilyId());
+            log.error("Refresh token of user with id {} is reused, {} refresh tokens of its family are revoked",
+                    refreshTokenEntity.getUserId(), revoked);
+            throw invalidRefreshToken();
+        }
+        if (!refreshTokenEntity.getExpiresAt().isAfter(Instant.now())) {
+            throw invalidRefreshToken();
+        }
+        SecurityUser securityUser = userRepository.findById(refreshTokenEntity.getUserId())
+                .map(SecurityUser::new)
+                .orElseThrow(this::invalidRefreshToken);
+        log.info("Refresh token of user with id {} is used", securityUser.getId());
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(securityUser, null, securityUser.getAuthorities());
+        authentication.setDetails(refreshTokenEntity.getFamilyId());
+        return authentication;
+    }
+
+    private HttpClientErrorException invalidRefreshToken() {
+        return new HttpClientErrorException(HttpStatus.UNAUTHORIZED, "Refresh token is invalid, expired or revoked");
+    }
+
+    private String randomToken() {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String digest(String refreshToken) {
+        try {
+            return Base64.getEncoder().encodeToString(
+                    MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,243 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.EmployeeRepository;
+import com.emansy.employeeservice.business.repository.EventIdRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Component
+public class AttendanceIndex {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final EventIdRepository eventIdRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Duration reloadInterval;
+
+    private final ScheduledExecutorService reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-index-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Index index = new Index();
+
+    private List<Consumer<Index>> updatesDuringLoad;
+
+    private volatile boolean loaded;
+
+    public AttendanceIndex(
+            EmployeeRepository employeeRepository,
+            EventIdRepository eventIdRepository,
+            @Value("${attendance-index.reload-interval:PT5M}") Duration reloadInterval) {
+        this.employeeRepository = employeeRepository;
+        this.eventIdRepository = eventIdRepository;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleReload() {
+        load();
+        reloadExecutor.scheduleWithFixedDelay(
+                this::load, reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public synchronized void load() {
+        withWriteLock(() -> updatesDuringLoad = new ArrayList<>());
+        Index loadedIndex = new Index();
+        try {
+            employeeRepository.findAllIds().forEach(loadedIndex::addEmployee);
+            eventIdRepository.forEachAttendance(loadedIndex::addAttendance);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> {
+                updatesDuringLoad = null;
+                loaded = false;
+            });
+            log.error("Attendance index is not loaded, attendance is looked up in the database: {}", e.getMessage());
+            return;
+        }
+        withWriteLock(() -> {
+            updatesDuringLoad.forEach(update -> update.accept(loadedIndex));
+            updatesDuringLoad = null;
+            index = loadedIndex;
+            loaded = true;
+        });
+        log.info("Attendance index is loaded for {} employees and {} attended events",
+                loadedIndex.allEmployeeIds.cardinality(), loadedIndex.employeeIdsByEventId.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<Long> findAttendingEmployeeIds(Long eventId) {
+        lock.readLock().lock();
+        try {
+            return toIds(index.employeeIdsByEventId.getOrDefault(eventId, new BitSet()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findNonAttendingEmployeeIds(Long eventId) {
+        lock.readLock().lock();
+        try {
+            BitSet nonAttendingEmployeeIds = (BitSet) index.allEmployeeIds.clone();
+            BitSet attendingEmployeeIds = index.employeeIdsByEventId.get(eventId);
+            if (attendingEmployeeIds != null) nonAttendingEmployeeIds.andNot(attendingEmployeeIds);
+            return toIds(nonAttendingEmployeeIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<Long> findAttendedEventIds(Collection<Long> employeeIds) {
+        lock.readLock().lock();
+        try {
+            Set<Long> eventIds = new HashSet<>();
+            employeeIds.forEach(employeeId ->
+                    eventIds.addAll(index.eventIdsByEmployeeId.getOrDefault(employeeId, Collections.emptySet())));
+            return eventIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addEmployee(Long employeeId) {
+        afterCommit(updatedIndex -> updatedIndex.addEmployee(employeeId));
+    }
+
+    public void removeEmployee(Long employeeId) {
+        afterCommit(updatedIndex -> updatedIndex.removeEmployee(employeeId));
+    }
+
+    public void addAttendances(Long eventId, Collection<Long> employeeIds) {
+        Set<Long> attendingEmployeeIds = new HashSet<>(employeeIds);
+        afterCommit(updatedIndex ->
+                attendingEmployeeIds.forEach(employeeId -> updatedIndex.addAttendance(eventId, employeeId)));
+    }
+
+    public void removeAttendances(Long eventId, Collection<Long> employeeIds) {
+        Set<Long> unattendingEmployeeIds = new HashSet<>(employeeIds);
+        afterCommit(updatedIndex ->
+                unattendingEmployeeIds.forEach(employeeId -> updatedIndex.removeAttendance(eventId, employeeId)));
+    }
+
+    public void removeEvent(Long eventId) {
+        afterCommit(updatedIndex -> updatedIndex.removeEvent(eventId));
+    }
+
+    private void afterCommit(Consumer<Index> update) {
+        Runnable lockedUpdate = () -> withWriteLock(() -> {
+            update.accept(index);
+            if (updatesDuringLoad != null) updatesDuringLoad.add(update);
+        });
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lockedUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lockedUpdate.run();
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int toIndex(Long employeeId) {
+        return Math.toIntExact(employeeId);
+    }
+
+    private static List<Long> toIds(BitSet bitSet) {
+        return bitSet.stream().mapToObj(index -> (long) index).collect(Collectors.toList());
+    }
+
+    private static class Index {
+
+        private final BitSet allEmployeeIds = new BitSet();
+
+        private final Map<Long, BitSet> employeeIdsByEventId = new HashMap<>();
+
+        private final Map<Long, Set<Long>> eventIdsByEmployeeId = new HashMap<>();
+
+        private void addEmployee(Long employeeId) {
+            allEmployeeIds.set(toIndex(employeeId));
+        }
+
+        private void removeEmployee(Long employeeId) {
+            allEmployeeIds.clear(toIndex(employeeId));
+            Set<Long> eventIds = eventIdsByEmployeeId.remove(employeeId);
+            if (eventIds != null) eventIds.forEach(eventId -> removeAttendance(eventId, employeeId));
+        }
+
+        private void addAttendance(Long eventId, Long employeeId) {
+            employeeIdsByEventId.computeIfAbsent(eventId, key -> new BitSet()).set(toIndex(employeeId));
+            eventIdsByEmployeeId.computeIfAbsent(employeeId, key -> new HashSet<>()).add(eventId);
+        }
+
+        private void removeAttendance(Long eventId, Long employeeId) {
+            BitSet attendingEmployeeIds = employeeIdsByEventId.get(eventId);
+            if (attendingEmployeeIds != null) {
+                attendingEmployeeIds.clear(toIndex(employeeId));
+                if (attendingEmployeeIds.isEmpty()) employeeIdsByEventId.remove(eventId);
+            }
+            Set<Long> eventIds = eventIdsByEmployeeId.get(employeeId);
+            if (eventIds != null) {
+                eventIds.remove(eventId);
+                if (eventIds.isEmpty()) eventIdsByEmployeeId.remove(employeeId);
+            }
+        }
+
+        private void removeEvent(Long eventId) {
+            BitSet attendingEmployeeIds = employeeIdsByEventId.remove(eventId);
+            if (attendingEmployeeIds == null) return;
+            toIds(attendingEmployeeIds).forEach(employeeId -> {
+                Set<Long> eventIds = eventIdsByEmployeeId.get(employeeId);
+                if (eventIds == null) return;
+                eventIds.remove(eventId);
+                if (eventIds.isEmpty()) eventIdsByEmployeeId.remove(employeeId);
+            });
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class BatchAttendances {
+
+    private final Map<Long, Map<Long, TimeSlot>> acceptedTimeSlotsByEmployeeId = new HashMap<>();
+
+    private final Map<Long, Set<Long>> cancelledEventIdsByEmployeeId = new HashMap<>();
+
+    void accept(Long eventId, Collection<Long> employeeIds, TimeSlot timeSlot) {
+        employeeIds.forEach(employeeId -> {
+            acceptedTimeSlotsByEmployeeId.computeIfAbsent(employeeId, id -> new HashMap<>()).put(eventId, timeSlot);
+            Set<Long> cancelledEventIds = cancelledEventIdsByEmployeeId.get(employeeId);
+            if (cancelledEventIds != null) cancelledEventIds.remove(eventId);
+        });
+    }
+
+    void cancel(Long eventId, Collection<Long> employeeIds) {
+        employeeIds.forEach(employeeId -> {
+            Map<Long, TimeSlot> acceptedTimeSlots = acceptedTimeSlotsByEmployeeId.get(employeeId);
+            if (acceptedTimeSlots != null) acceptedTimeSlots.remove(eventId);
+            cancelledEventIdsByEmployeeId.computeIfAbsent(employeeId, id -> new HashSet<>()).add(eventId);
+        });
+    }
+
+    boolean isCancelled(Long employeeId, Long eventId) {
+        return cancelledEventIdsByEmployeeId.getOrDefault(employeeId, Collections.emptySet()).contains(eventId);
+    }
+
+    Set<TimeSlot> findAcceptedTimeSlots(Long employeeId, Long exceptEventId, LocalDate fromDate) {
+        return acceptedTimeSlotsByEmployeeId.getOrDefault(employeeId, Collections.emptyMap()).entrySet().stream()
+                .filter(acceptedTimeSlot -> !acceptedTimeSlot.getKey().equals(exceptEventId))
+                .map(Map.Entry::getValue)
+                .filter(timeSlot -> !timeSlot.getDate().isBefore(fromDate))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,45 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+class BusyCalendar {
+
+    static final long NO_FREE_START = Long.MIN_VALUE;
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    private final int size;
+
+    BusyCalendar(Collection<TimeSlot> busyTimeSlots) {
+        TimeSlot[] timeSlots = busyTimeSlots.toArray(new TimeSlot[0]);
+        Arrays.sort(timeSlots, Comparator.comparingLong(TimeSlot::getStart));
+        starts = new long[timeSlots.length];
+        ends = new long[timeSlots.length];
+        int merged = -1;
+        for (TimeSlot timeSlot : timeSlots) {
+            if (merged >= 0 && timeSlot.getStart() <= ends[merged]) {
+                ends[merged] = Math.max(ends[merged], timeSlot.getEnd());
+                continue;
+            }
+            merged++;
+            starts[merged] = timeSlot.getStart();
+            ends[merged] = timeSlot.getEnd();
+        }
+        size = merged + 1;
+    }
+
+    long findFreeStart(long start, long duration, long latestStart) {
+        int index = Arrays.binarySearch(ends, 0, size, start);
+        index = index >= 0 ? index + 1 : -index - 1;
+        while (index < size && starts[index] < start + duration) {
+            if (ends[index] > latestStart) return NO_FREE_START;
+            start = ends[index];
+            index++;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,55 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
+import com.emansy.employeeservice.model.CacheStatisticsDto;
+import com.emansy.employeeservice.security.CachingJwtDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private static final String QUERY_RESULTS = "query-results";
+
+    private static final String VERIFIED_JWTS = "verified-jwts";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CachingJwtDecoder cachingJwtDecoder;
+
+    @Override
+    public List<CacheStatisticsDto> findAll() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheStatisticsDto> cacheStatistics = new ArrayList<>();
+        if (statistics.isStatisticsEnabled()) {
+            Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                    .sorted()
+                    .forEach(regionName -> {
+                        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+                        if (Objects.isNull(regionStatistics)) return;
+                        cacheStatistics.add(new CacheStatisticsDto(regionName, regionStatistics.getHitCount(),
+                                regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+                    });
+            cacheStatistics.add(new CacheStatisticsDto(QUERY_RESULTS, statistics.getQueryCacheHitCount(),
+                    statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        } else {
+            log.warn("Hibernate statistics are disabled, second-level and query cache statistics are not collected");
+        }
+        cacheStatistics.add(new CacheStatisticsDto(VERIFIED_JWTS, cachingJwtDecoder.getHitCount(),
+                cachingJwtDecoder.getMissCount(), cachingJwtDecoder.getPutCount()));
+        log.info("Statistics of {} cache regions are collected", cacheStatistics.size());
+        return cacheStatistics;
+    }
+}
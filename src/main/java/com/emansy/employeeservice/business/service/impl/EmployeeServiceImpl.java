@@ -4,41 +4,52 @@ import com.emansy.employeeservice.business.mappers.EmployeeMapper;
 import com.emansy.employeeservice.business.repository.EmployeeRepository;
 import com.emansy.employeeservice.business.repository.EventIdRepository;
 import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeRow;
 import com.emansy.employeeservice.business.repository.model.EventIdEntity;
 import com.emansy.employeeservice.business.service.EmployeeService;
-import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
 import com.emansy.employeeservice.kafka.KafkaProducer;
+import com.emansy.employeeservice.model.AttendeeIdsDto;
+import com.emansy.employeeservice.model.CountryDto;
 import com.emansy.employeeservice.model.EmployeeDto;
+import com.emansy.employeeservice.model.EmployeePageDto;
 import com.emansy.employeeservice.model.EventDto;
-import com.emansy.employeeservice.model.PublicHolidayDto;
-import lombok.RequiredArgsConstructor;
+import com.emansy.employeeservice.model.JobTitleDto;
+import com.emansy.employeeservice.model.OfficeDto;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
-import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Log4j2
-@RequiredArgsConstructor
 @Service
 @Transactional
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int ID_CHUNK_SIZE = 1000;
+
     private final EntityManager entityManager;
 
     private final EmployeeMapper employeeMapper;
@@ -49,34 +60,80 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final KafkaProducer kafkaProducer;
 
-    private final PublicHolidayRestTemplate publicHolidayRestTemplate;
-
-    private final String PUBLIC_HOLIDAY_URL = "https://date.nager.at/api/v3/NextPublicHolidays/";
-
-    private Set<EmployeeEntity> employeeEntities;
-
-    private Set<EmployeeEntity> attendingEmployeeEntities;
-
-    private TimeSlot timeSlotForEvent;
-
-    private Set<TimeSlot> unavailableTimeSlots;
-
-    private LocalTime earliestAvailableStartTime;
-
-    private LocalTime latestAvailableStartTime;
+    private final SchedulingEngine schedulingEngine;
+
+    private final AttendanceIndex attendanceIndex;
+
+    private final Duration timeSlotMaxAge;
+
+    public EmployeeServiceImpl(
+            EntityManager entityManager,
+            EmployeeMapper employeeMapper,
+            EmployeeRepository employeeRepository,
+            EventIdRepository eventIdRepository,
+            KafkaProducer kafkaProducer,
+            SchedulingEngine schedulingEngine,
+            AttendanceIndex attendanceIndex,
+            @Value("${event-time-slot.max-age:PT1H}") Duration timeSlotMaxAge) {
+        this.entityManager = entityManager;
+        this.employeeMapper = employeeMapper;
+        this.employeeRepository = employeeRepository;
+        this.eventIdRepository = eventIdRepository;
+        this.kafkaProducer = kafkaProducer;
+        this.schedulingEngine = schedulingEngine;
+        this.attendanceIndex = attendanceIndex;
+        this.timeSlotMaxAge = timeSlotMaxAge;
+    }
 
-    private Set<LocalDate> publicHolidays;
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeDto> findAll() {
+        List<EmployeeDto> employeeDtos = rowsToDtos(employeeRepository.findAllRows());
+        log.info("Number of all employees is {}", employeeDtos.size());
+        return employeeDtos;
+    }
 
-    private boolean isTimeSlotForEventChanged;
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageDto findPage(Long afterId, int size) {
+        List<Long> employeeIds = employeeRepository.findIdsAfter(afterId, PageRequest.of(0, size));
+        List<EmployeeDto> employeeDtos = employeeIds.isEmpty()
+                ? Collections.emptyList()
+                : rowsToDtos(employeeRepository.findAllRowsByIdIn(employeeIds));
+        Long nextAfterId = employeeIds.size() < size ? null : employeeIds.get(employeeIds.size() - 1);
+        log.info("Found {} employees with ids after {}, next page is after {}", employeeDtos.size(), afterId, nextAfterId);
+        return new EmployeePageDto(employeeDtos, nextAfterId);
+    }
 
     @Override
-    public List<EmployeeDto> findAll() {
-        List<EmployeeEntity> employeeEntities = employeeRepository.findAll();
-        log.info("Number of all employees is {}", employeeEntities.size());
-        return employeeEntities.stream().map(employeeMapper::entityToDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<EmployeeDto> employeeDtoConsumer) {
+        long count = 0;
+        EmployeeDto employeeDto = null;
+        try (Stream<EmployeeRow> employeeRows = employeeRepository.streamAllRows()) {
+            Iterator<EmployeeRow> iterator = employeeRows.iterator();
+            while (iterator.hasNext()) {
+                EmployeeRow employeeRow = iterator.next();
+                if (employeeDto == null || !employeeDto.getId().equals(employeeRow.getId())) {
+                    if (employeeDto != null) {
+                        employeeDtoConsumer.accept(employeeDto);
+                        count++;
+                    }
+                    employeeDto = rowToDto(employeeRow);
+                }
+                if (employeeRow.getEventId() != null) employeeDto.getEventIds().add(employeeRow.getEventId());
+            }
+        }
+        if (employeeDto != null) {
+            employeeDtoConsumer.accept(employeeDto);
+            count++;
+        }
+        log.info("{} employees are streamed", count);
+        return count;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<EmployeeDto> findById(Long id) {
         Optional<EmployeeDto> employeeById = employeeRepository.findById(id)
                 .flatMap(employeeEntity -> Optional.ofNullable(employeeMapper.entityToDto(employeeEntity)));
@@ -89,13 +146,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         employeeDto.setId(null);
         EmployeeEntity employeeEntitySaved = employeeRepository.save(employeeMapper.dtoToEntity(employeeDto));
         entityManager.refresh(employeeEntitySaved);
+        attendanceIndex.addEmployee(employeeEntitySaved.getId());
         log.info("New employee is saved: {}", employeeEntitySaved);
         return employeeMapper.entityToDto(employeeEntitySaved);
     }
 
     @Override
     public EmployeeDto update(EmployeeDto employeeDto) {
-        EmployeeEntity employeeEntityUpdated = employeeRepository.save(employeeMapper.dtoToEntity(employeeDto));
+        EmployeeEntity employeeEntity = employeeMapper.dtoToEntity(employeeDto);
+        employeeRepository.findById(employeeDto.getId()).ifPresent(employeeEntityFound ->
+                employeeEntity.setEventIdEntities(employeeEntityFound.getEventIdEntities()));
+        EmployeeEntity employeeEntityUpdated = employeeRepository.save(employeeEntity);
         entityManager.refresh(employeeEntityUpdated);
         log.info("Employee is updated: {}", employeeEntityUpdated);
         return employeeMapper.entityToDto(employeeEntityUpdated);
@@ -104,79 +165,92 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public void deleteById(Long id) {
         employeeRepository.deleteById(id);
+        attendanceIndex.removeEmployee(id);
         log.info("Employee with id {} is deleted", id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return employeeRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<EmployeeDto> findAttendingEmployees(Long eventId) {
-        employeeEntities = new HashSet<>();
-        Optional<EventIdEntity> eventIdEntity = eventIdRepository.findById(eventId);
-        eventIdEntity.ifPresent(idEntity -> employeeEntities = idEntity.getEmployeeEntities());
-        log.info("Found {} employees attending event with id {}", employeeEntities.size(), eventId);
-        return employeeEntities.stream().map(employeeMapper::entityToDto).collect(Collectors.toSet());
+        List<EmployeeDto> employeeDtos = rowsToDtos(attendanceIndex.isLoaded()
+                ? findAllRowsByIdIn(attendanceIndex.findAttendingEmployeeIds(eventId))
+                : employeeRepository.findAllRowsAttending(eventId));
+        log.info("Found {} employees attending event with id {}", employeeDtos.size(), eventId);
+        return new HashSet<>(employeeDtos);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<EmployeeDto> findNonAttendingEmployees(Long eventId) {
-        employeeEntities = new HashSet<>(employeeRepository.findAll());
-        Optional<EventIdEntity> eventIdEntity = eventIdRepository.findById(eventId);
-        eventIdEntity.ifPresent(idEntity -> employeeEntities.removeAll(idEntity.getEmployeeEntities()));
-        log.info("Found {} employees not attending event with id {}", employeeEntities.size(), eventId);
-        return employeeEntities.stream().map(employeeMapper::entityToDto).collect(Collectors.toSet());
+        List<EmployeeDto> employeeDtos = rowsToDtos(attendanceIndex.isLoaded()
+                ? findAllRowsByIdIn(attendanceIndex.findNonAttendingEmployeeIds(eventId))
+                : employeeRepository.findAllRowsNotAttending(eventId));
+        log.info("Found {} employees not attending event with id {}", employeeDtos.size(), eventId);
+        return new HashSet<>(employeeDtos);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Set<EventDto> findAttendedEventsBetween(Set<Long> employeeIds, String fromDate, String thruDate)
             throws ExecutionException, InterruptedException {
-        Set<Long> eventIds = new HashSet<>();
-        employeeRepository.findAllByIdIn(employeeIds)
-                .forEach(employeeEntity -> eventIds
-                        .addAll(employeeEntity.getEventIdEntities().stream()
-                                .map(EventIdEntity::getId)
-                                .collect(Collectors.toSet())));
+        Set<Long> eventIds = findAttendedEventIds(employeeIds);
         if (eventIds.isEmpty()) {
             log.warn("No attended events found for the employees with ids {}", employeeIds);
             return Collections.emptySet();
         }
-        Set<EventDto> eventDtos = kafkaProducer.requestAndReceiveEvents(eventIds, fromDate, thruDate);
-        if (thruDate.isEmpty()) {
-            log.info("Found {} future events for the employees with ids {}", eventDtos.size(), employeeIds);
-            return eventDtos;
+        return logAttendedEvents(
+                kafkaProducer.requestAndReceiveEvents(eventIds, fromDate, thruDate), employeeIds, fromDate, thruDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<Set<EventDto>> findAttendedEventsBetweenAsync(Set<Long> employeeIds, String fromDate,
+                                                                          String thruDate) {
+        Set<Long> eventIds = findAttendedEventIds(employeeIds);
+        if (eventIds.isEmpty()) {
+            log.warn("No attended events found for the employees with ids {}", employeeIds);
+            return CompletableFuture.completedFuture(Collections.emptySet());
         }
-        log.info("Found {} events, scheduled between {} and {}, for the employees with ids {}",
-                eventDtos.size(), fromDate, thruDate, employeeIds);
-        return eventDtos;
+        return kafkaProducer.requestEvents(eventIds, fromDate, thruDate)
+                .thenApply(eventDtos -> logAttendedEvents(eventDtos, employeeIds, fromDate, thruDate));
     }
 
     @Override
     public EventDto attendEvent(Set<Long> employeeIds, EventDto eventDto) throws ExecutionException, InterruptedException {
-        employeeEntities = employeeRepository.findAllByIdIn(employeeIds);
+        return attendEvent(employeeIds, eventDto, new BatchAttendances());
+    }
+
+    private EventDto attendEvent(Set<Long> employeeIds, EventDto eventDto, BatchAttendances batchAttendances)
+            throws ExecutionException, InterruptedException {
+        Set<EmployeeEntity> employeeEntities = employeeRepository.findAllByIdIn(employeeIds);
         if (employeeEntities.isEmpty()) {
             log.warn("Employees with ids {} are not found", employeeIds);
             return eventDto;
         }
-        attendingEmployeeEntities = eventIdRepository.findById(eventDto.getId())
-                .orElseGet(() -> eventIdRepository.save(new EventIdEntity(eventDto.getId(), new HashSet<>())))
-                .getEmployeeEntities();
+        EventIdEntity eventIdEntity = eventIdRepository.findById(eventDto.getId())
+                .orElseGet(() -> eventIdRepository.save(
+                        new EventIdEntity(eventDto.getId(), new HashSet<>(), null, null, null, null)));
+        Set<EmployeeEntity> attendingEmployeeEntities = eventIdEntity.getEmployeeEntities();
         employeeEntities.removeAll(attendingEmployeeEntities);
         if (employeeEntities.isEmpty()) {
             log.warn("Requested employees already attend the event with id: {}", eventDto.getId());
             return eventDto;
         }
         attendingEmployeeEntities.addAll(employeeEntities);
-        timeSlotForEvent = new TimeSlot(eventDto);
-        isTimeSlotForEventChanged = false;
-        loadUnavailableTimeSlots();
-        loadEarliestAvailableStartTime();
-        loadLatestAvailableStartTime();
-        loadPublicHolidays();
-        findTimeSlotForEvent();
-        if (isTimeSlotForEventChanged) {
+        TimeSlot requestedTimeSlot = new TimeSlot(eventDto);
+        TimeSlot timeSlotForEvent = schedulingEngine.findTimeSlotForEvent(
+                attendingEmployeeEntities,
+                findBusyTimeSlots(
+                        attendingEmployeeEntities, eventDto.getId(), requestedTimeSlot.getDate(), batchAttendances),
+                requestedTimeSlot
+        );
+        if (!timeSlotForEvent.equals(requestedTimeSlot)) {
             attendingEmployeeEntities.removeAll(employeeEntities);
             eventDto.setDate(String.valueOf(timeSlotForEvent.getDate()));
             eventDto.setStartTime(DateTimeFormatter.ISO_LOCAL_TIME.format(timeSlotForEvent.getStartTime()));
@@ -185,6 +259,11 @@ public class EmployeeServiceImpl implements EmployeeService {
                     eventDto);
             return eventDto;
         }
+        updateTimeSlot(eventIdEntity, eventDto);
+        Set<Long> attendingEmployeeIds = employeeEntities.stream().map(EmployeeEntity::getId).collect(Collectors.toSet());
+        eventIdRepository.insertAttendances(eventDto.getId(), attendingEmployeeIds);
+        attendanceIndex.addAttendances(eventDto.getId(), attendingEmployeeIds);
+        batchAttendances.accept(eventDto.getId(), attendingEmployeeIds, requestedTimeSlot);
         kafkaProducer.sendAttendanceNotification(
                 true,
                 employeeEntities.stream().map(employeeMapper::entityToDto).collect(Collectors.toSet()),
@@ -195,99 +274,19 @@ public class EmployeeServiceImpl implements EmployeeService {
         return eventDto;
     }
 
-    private void loadUnavailableTimeSlots() throws ExecutionException, InterruptedException {
-        Set<Long> attendingEmployeeIds = attendingEmployeeEntities.stream()
-                .map(EmployeeEntity::getId)
-                .collect(Collectors.toSet());
-        unavailableTimeSlots = findAttendedEventsBetween(attendingEmployeeIds, String.valueOf(LocalDate.now()), "").stream()
-                .map(TimeSlot::new)
-                .collect(Collectors.toSet());
-    }
-
-    private void loadEarliestAvailableStartTime() {
-        earliestAvailableStartTime = attendingEmployeeEntities.stream()
-                .map(EmployeeEntity::getWorkingStartTime)
-                .max(Comparator.naturalOrder())
-                .orElse(LocalTime.parse("09:00:00"));
-        log.info("Earliest available starting time for the event is {}", earliestAvailableStartTime);
-    }
-
-    private void loadLatestAvailableStartTime() {
-        latestAvailableStartTime = attendingEmployeeEntities.stream()
-                .map(EmployeeEntity::getWorkingEndTime)
-                .min(Comparator.naturalOrder())
-                .orElse(LocalTime.parse("18:00:00"))
-                .minus(Duration.between(timeSlotForEvent.getStartTime(), timeSlotForEvent.getEndTime()));
-        if (latestAvailableStartTime.isBefore(earliestAvailableStartTime)) {
-            timeSlotForEvent.setEndTime(timeSlotForEvent.getEndTime()
-                    .minus(Duration.between(latestAvailableStartTime, earliestAvailableStartTime)));
-            latestAvailableStartTime = earliestAvailableStartTime;
-            isTimeSlotForEventChanged = true;
-        }
-        log.info("Latest available starting time for the event is {}", latestAvailableStartTime);
-    }
-
-    private void loadPublicHolidays() {
-        Set<String> countryCodes = attendingEmployeeEntities.stream()
-                .map(employeeEntity -> employeeEntity.getOfficeEntity().getCountryEntity().getCode())
-                .collect(Collectors.toSet());
-        if (countryCodes.isEmpty()) countryCodes.add("LV");
-        log.info("Employees from the countries with codes {} are invited to the event", countryCodes);
-        publicHolidays = new HashSet<>();
-        countryCodes.forEach(countryCode -> publicHolidays.addAll(Arrays.stream(Objects.requireNonNull(
-                        publicHolidayRestTemplate.getForObject(PUBLIC_HOLIDAY_URL + countryCode, PublicHolidayDto[].class)))
-                .map(publicHolidayDto -> LocalDate.parse(publicHolidayDto.getDate()))
-                .collect(Collectors.toSet())));
-        log.info("{} public holiday dates are received from the external API: {}",
-                publicHolidays.size(), PUBLIC_HOLIDAY_URL);
-    }
-
-    private void findTimeSlotForEvent() {
-        Optional<TimeSlot> conflictingTimeSlot;
-        do {
-            while (timeSlotForEvent.getDate().getDayOfWeek().equals(DayOfWeek.SATURDAY)
-                    || timeSlotForEvent.getDate().getDayOfWeek().equals(DayOfWeek.SUNDAY)
-                    || publicHolidays.contains(timeSlotForEvent.getDate()))
-                rescheduleToNextMorning();
-            do {
-                conflictingTimeSlot = unavailableTimeSlots.stream()
-                        .filter(unavailableTimeSlot -> timeSlotForEvent.getDate().equals(unavailableTimeSlot.getDate())
-                                && timeSlotForEvent.getStartTime().isBefore(unavailableTimeSlot.getEndTime())
-                                && timeSlotForEvent.getEndTime().isAfter(unavailableTimeSlot.getStartTime()))
-                        .findAny();
-                if (!conflictingTimeSlot.isPresent()) return;
-            } while (manageToRescheduleToSameDayLater(conflictingTimeSlot.get()));
-        } while (true);
-    }
-
-    private void rescheduleToNextMorning() {
-        timeSlotForEvent.setDate(timeSlotForEvent.getDate().plusDays(1));
-        timeSlotForEvent.setEndTime(earliestAvailableStartTime.plus(
-                Duration.between(timeSlotForEvent.getStartTime(), timeSlotForEvent.getEndTime())));
-        timeSlotForEvent.setStartTime(earliestAvailableStartTime);
-        isTimeSlotForEventChanged = true;
-    }
-
-    private boolean manageToRescheduleToSameDayLater(TimeSlot conflictingTimeSlot) {
-        if (conflictingTimeSlot.getEndTime().isAfter(latestAvailableStartTime)) {
-            rescheduleToNextMorning();
-            return false;
-        }
-        timeSlotForEvent.setEndTime(conflictingTimeSlot.getEndTime().plus(
-                Duration.between(timeSlotForEvent.getStartTime(), timeSlotForEvent.getEndTime())));
-        timeSlotForEvent.setStartTime(conflictingTimeSlot.getEndTime());
-        isTimeSlotForEventChanged = true;
-        return true;
-    }
-
     @Override
     public EventDto unattendEvent(Set<Long> employeeIds, EventDto eventDto) {
+        return unattendEvent(employeeIds, eventDto, new BatchAttendances());
+    }
+
+    private EventDto unattendEvent(Set<Long> employeeIds, EventDto eventDto, BatchAttendances batchAttendances) {
         Optional<EventIdEntity> eventIdEntity = eventIdRepository.findById(eventDto.getId());
         if (!eventIdEntity.isPresent()) {
             log.warn("Employees' attendance of the event with id {} is not found", eventDto.getId());
             return eventDto;
         }
-        attendingEmployeeEntities = eventIdEntity.get().getEmployeeEntities();
+        updateTimeSlot(eventIdEntity.get(), eventDto);
+        Set<EmployeeEntity> attendingEmployeeEntities = eventIdEntity.get().getEmployeeEntities();
         if (attendingEmployeeEntities.isEmpty()) {
             log.warn("Employees' attendance of the event with id {} is not found", eventDto.getId());
             return eventDto;
@@ -298,26 +297,45 @@ public class EmployeeServiceImpl implements EmployeeService {
             log.warn("Requested employees' attendance of the event with id {} is not found", eventDto.getId());
             return eventDto;
         }
-        employeeEntities = employeeRepository.findAllByIdIn(employeeIds);
+        Set<EmployeeEntity> employeeEntities = employeeRepository.findAllByIdIn(employeeIds);
         kafkaProducer.sendAttendanceNotification(
                 false,
                 employeeEntities.stream().map(employeeMapper::entityToDto).collect(Collectors.toSet()),
                 eventDto
         );
+        eventIdRepository.deleteAttendances(eventDto.getId(), employeeIds);
+        attendanceIndex.removeAttendances(eventDto.getId(), employeeIds);
+        batchAttendances.cancel(eventDto.getId(), employeeIds);
+        attendingEmployeeEntities.removeAll(employeeEntities);
         log.info("{} employees' attendance of the event with id {} is cancelled",
                 employeeEntities.size(), eventDto.getId());
-        attendingEmployeeEntities.removeAll(employeeEntities);
         return eventDto;
     }
 
+    @Override
+    public void updateEvent(EventDto eventDto) {
+        Optional<EventIdEntity> eventIdEntity = eventIdRepository.findById(eventDto.getId());
+        if (!eventIdEntity.isPresent()) {
+            log.info("Event with id {} is not attended, its time slot is not stored", eventDto.getId());
+            return;
+        }
+        updateTimeSlot(eventIdEntity.get(), eventDto);
+        log.info("Time slot of the event with id {} is updated: {} {}-{}",
+                eventDto.getId(), eventDto.getDate(), eventDto.getStartTime(), eventDto.getEndTime());
+    }
+
     @Override
     public EventDto unattendAndDeleteEvent(EventDto eventDto) {
+        return unattendAndDeleteEvent(eventDto, new BatchAttendances());
+    }
+
+    private EventDto unattendAndDeleteEvent(EventDto eventDto, BatchAttendances batchAttendances) {
         Optional<EventIdEntity> eventIdEntity = eventIdRepository.findById(eventDto.getId());
         if (!eventIdEntity.isPresent()) {
             log.warn("Employees' attendance of the event with id {} is not found", eventDto.getId());
             return eventDto;
         }
-        employeeEntities = eventIdEntity.get().getEmployeeEntities();
+        Set<EmployeeEntity> employeeEntities = eventIdEntity.get().getEmployeeEntities();
         if (employeeEntities.isEmpty()) {
             log.warn("Employees' attendance of the event with id {} is not found", eventDto.getId());
             eventIdRepository.deleteById(eventDto.getId());
@@ -330,7 +348,162 @@ public class EmployeeServiceImpl implements EmployeeService {
         );
         log.info("{} employees' attendance of the event with id {} is cancelled",
                 employeeEntities.size(), eventDto.getId());
+        eventIdRepository.deleteAllAttendances(eventDto.getId());
         eventIdRepository.deleteById(eventDto.getId());
+        attendanceIndex.removeEvent(eventDto.getId());
+        batchAttendances.cancel(eventDto.getId(),
+                employeeEntities.stream().map(EmployeeEntity::getId).collect(Collectors.toSet()));
         return eventDto;
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<EventDto> handleAttendanceRequests(List<AttendeeIdsDto> attendeeIdsDtos)
+            throws ExecutionException, InterruptedException {
+        List<EventDto> eventDtos = new ArrayList<>();
+        Map<Long, AttendeeIdsDto> lastRequestByEventId = new HashMap<>();
+        Map<Long, EventDto> lastReplyByEventId = new HashMap<>();
+        BatchAttendances batchAttendances = new BatchAttendances();
+        int handledCount = 0;
+        for (AttendeeIdsDto attendeeIdsDto : attendeeIdsDtos) {
+            Long eventId = attendeeIdsDto.getEventDto().getId();
+            if (attendeeIdsDto.equals(lastRequestByEventId.get(eventId))) {
+                eventDtos.add(lastReplyByEventId.get(eventId));
+                continue;
+            }
+            lastRequestByEventId.put(eventId, copyOf(attendeeIdsDto));
+            EventDto eventDto = handleAttendanceRequest(copyOf(attendeeIdsDto), batchAttendances);
+            lastReplyByEventId.put(eventId, eventDto);
+            eventDtos.add(eventDto);
+            handledCount++;
+        }
+        log.info("{} attendance requests for {} events are handled as {} groups",
+                attendeeIdsDtos.size(), lastRequestByEventId.size(), handledCount);
+        return eventDtos;
+    }
+
+    private EventDto handleAttendanceRequest(AttendeeIdsDto attendeeIdsDto, BatchAttendances batchAttendances)
+            throws ExecutionException, InterruptedException {
+        Set<Long> employeeIds = new HashSet<>(attendeeIdsDto.getEmployeeIds());
+        EventDto eventDto = attendeeIdsDto.getEventDto();
+        if (attendeeIdsDto.getWhetherToAttendOrToUnattend()) {
+            return attendEvent(employeeIds, eventDto, batchAttendances);
+        }
+        if (employeeIds.isEmpty()) return unattendAndDeleteEvent(eventDto, batchAttendances);
+        return unattendEvent(employeeIds, eventDto, batchAttendances);
+    }
+
+    private AttendeeIdsDto copyOf(AttendeeIdsDto attendeeIdsDto) {
+        EventDto eventDto = attendeeIdsDto.getEventDto();
+        return new AttendeeIdsDto(
+                attendeeIdsDto.getWhetherToAttendOrToUnattend(),
+                new HashSet<>(attendeeIdsDto.getEmployeeIds()),
+                new EventDto(eventDto.getId(), eventDto.getTitle(), eventDto.getDetails(), eventDto.getDate(),
+                        eventDto.getStartTime(), eventDto.getEndTime())
+        );
+    }
+
+    private Set<TimeSlot> findBusyTimeSlots(Set<EmployeeEntity> attendingEmployeeEntities, Long eventId,
+                                            LocalDate fromDate, BatchAttendances batchAttendances)
+            throws ExecutionException, InterruptedException {
+        Set<TimeSlot> busyTimeSlots = new HashSet<>();
+        Map<Long, EventIdEntity> eventIdEntitiesWithoutTimeSlot = new HashMap<>();
+        Instant timeSlotsUpdatedAfter = Instant.now().minus(timeSlotMaxAge);
+        attendingEmployeeEntities.forEach(employeeEntity -> {
+            busyTimeSlots.addAll(batchAttendances.findAcceptedTimeSlots(employeeEntity.getId(), eventId, fromDate));
+            employeeEntity.getEventIdEntities().stream()
+                    .filter(eventIdEntity -> !eventIdEntity.getId().equals(eventId))
+                    .filter(eventIdEntity ->
+                            !batchAttendances.isCancelled(employeeEntity.getId(), eventIdEntity.getId()))
+                    .forEach(eventIdEntity -> {
+                        if (eventIdEntity.getDate() == null || eventIdEntity.getTimeSlotUpdatedAt() == null
+                                || eventIdEntity.getTimeSlotUpdatedAt().isBefore(timeSlotsUpdatedAfter)) {
+                            eventIdEntitiesWithoutTimeSlot.put(eventIdEntity.getId(), eventIdEntity);
+                        } else if (!eventIdEntity.getDate().isBefore(fromDate)) {
+                            busyTimeSlots.add(new TimeSlot(eventIdEntity));
+                        }
+                    });
+        });
+        if (eventIdEntitiesWithoutTimeSlot.isEmpty()) {
+            log.info("{} busy time slots of attending employees are found locally", busyTimeSlots.size());
+            return busyTimeSlots;
+        }
+        log.info("Time slots of the events with ids {} are not stored locally or are older than {} and are requested "
+                + "from the event service", eventIdEntitiesWithoutTimeSlot.keySet(), timeSlotMaxAge);
+        kafkaProducer.requestAndReceiveEvents(
+                        new HashSet<>(eventIdEntitiesWithoutTimeSlot.keySet()), String.valueOf(LocalDate.now()), "")
+                .forEach(attendedEventDto -> {
+                    Optional.ofNullable(eventIdEntitiesWithoutTimeSlot.get(attendedEventDto.getId()))
+                            .ifPresent(eventIdEntity -> updateTimeSlot(eventIdEntity, attendedEventDto));
+                    busyTimeSlots.add(new TimeSlot(attendedEventDto));
+                });
+        return busyTimeSlots;
+    }
+
+    private void updateTimeSlot(EventIdEntity eventIdEntity, EventDto eventDto) {
+        eventIdEntity.setDate(LocalDate.parse(eventDto.getDate()));
+        eventIdEntity.setStartTime(LocalTime.parse(eventDto.getStartTime()));
+        eventIdEntity.setEndTime(LocalTime.parse(eventDto.getEndTime()));
+        eventIdEntity.setTimeSlotUpdatedAt(Instant.now());
+    }
+
+    private List<EmployeeRow> findAllRowsByIdIn(List<Long> employeeIds) {
+        List<EmployeeRow> employeeRows = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += ID_CHUNK_SIZE) {
+            employeeRows.addAll(employeeRepository.findAllRowsByIdIn(
+                    employeeIds.subList(from, Math.min(from + ID_CHUNK_SIZE, employeeIds.size()))));
+        }
+        return employeeRows;
+    }
+
+    private List<EmployeeDto> rowsToDtos(List<EmployeeRow> employeeRows) {
+        Map<Long, EmployeeDto> employeeDtos = new LinkedHashMap<>();
+        employeeRows.forEach(employeeRow -> {
+            EmployeeDto employeeDto = employeeDtos.computeIfAbsent(employeeRow.getId(), id -> rowToDto(employeeRow));
+            if (employeeRow.getEventId() != null) employeeDto.getEventIds().add(employeeRow.getEventId());
+        });
+        return new ArrayList<>(employeeDtos.values());
+    }
+
+    private EmployeeDto rowToDto(EmployeeRow employeeRow) {
+        return new EmployeeDto(
+                employeeRow.getId(),
+                employeeRow.getFirstName(),
+                employeeRow.getLastName(),
+                employeeRow.getEmail(),
+                employeeRow.getPhone(),
+                employeeRow.getJobTitleId() == null ? null
+                        : new JobTitleDto(employeeRow.getJobTitleId(), employeeRow.getJobTitleName()),
+                employeeRow.getOfficeId() == null ? null
+                        : new OfficeDto(employeeRow.getOfficeId(), employeeRow.getOfficeName(),
+                        employeeRow.getOfficeStreetAddress(), employeeRow.getOfficeCity(),
+                        employeeRow.getCountryCode() == null ? null
+                                : new CountryDto(employeeRow.getCountryCode(), employeeRow.getCountryName())),
+                employeeRow.getWorkingStartTime() == null ? null : employeeRow.getWorkingStartTime().toString(),
+                employeeRow.getWorkingEndTime() == null ? null : employeeRow.getWorkingEndTime().toString(),
+                new HashSet<>()
+        );
+    }
+
+    private Set<Long> findAttendedEventIds(Set<Long> employeeIds) {
+        if (attendanceIndex.isLoaded()) return attendanceIndex.findAttendedEventIds(employeeIds);
+        Set<Long> eventIds = new HashSet<>();
+        employeeRepository.findAllByIdIn(employeeIds)
+                .forEach(employeeEntity -> eventIds
+                        .addAll(employeeEntity.getEventIdEntities().stream()
+                                .map(EventIdEntity::getId)
+                                .collect(Collectors.toSet())));
+        return eventIds;
+    }
+
+    private Set<EventDto> logAttendedEvents(Set<EventDto> eventDtos, Set<Long> employeeIds, String fromDate,
+                                            String thruDate) {
+        if (thruDate.isEmpty()) {
+            log.info("Found {} future events for the employees with ids {}", eventDtos.size(), employeeIds);
+            return eventDtos;
+        }
+        log.info("Found {} events, scheduled between {} and {}, for the employees with ids {}",
+                eventDtos.size(), fromDate, thruDate, employeeIds);
+        return eventDtos;
+    }
 }
@@ -0,0 +1,302 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.CountryRepository;
+import com.emansy.employeeservice.business.repository.PublicHolidayRepository;
+import com.emansy.employeeservice.business.repository.model.CountryEntity;
+import com.emansy.employeeservice.business.repository.model.PublicHolidayEntity;
+import com.emansy.employeeservice.business.service.PublicHolidayService;
+import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
+import com.emansy.employeeservice.model.PublicHolidayDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class PublicHolidayServiceImpl implements PublicHolidayService {
+
+    private final PublicHolidayRestTemplate publicHolidayRestTemplate;
+
+    private final PublicHolidayRepository publicHolidayRepository;
+
+    private final CountryRepository countryRepository;
+
+    private final Clock clock;
+
+    private final String publicHolidayUrl;
+
+    private final Duration timeToLive;
+
+    private final Duration refreshAhead;
+
+    private final Duration retryInterval;
+
+    private final Duration fetchTimeout;
+
+    private final Map<String, CachedPublicHolidays> publicHolidaysByCountryCode = new ConcurrentHashMap<>();
+
+    private final Map<String, ScheduledFuture<?>> scheduledRefreshes = new ConcurrentHashMap<>();
+
+    private final Set<String> countryCodesBeingRefreshed = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Instant> refreshNotBeforeByCountryCode = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<Set<LocalDate>>> publicHolidayFetchesInProgress = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "public-holiday-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService fetchExecutor;
+
+    public PublicHolidayServiceImpl(
+            PublicHolidayRestTemplate publicHolidayRestTemplate,
+            PublicHolidayRepository publicHolidayRepository,
+            CountryRepository countryRepository,
+            Clock clock,
+            @Value("${public-holiday.url}") String publicHolidayUrl,
+            @Value("${public-holiday.cache.time-to-live:PT12H}") Duration timeToLive,
+            @Value("${public-holiday.cache.refresh-ahead:PT1H}") Duration refreshAhead,
+            @Value("${public-holiday.cache.retry-interval:PT5M}") Duration retryInterval,
+            @Value("${public-holiday.fetch-timeout:PT5S}") Duration fetchTimeout,
+            @Value("${public-holiday.client.max-connections:20}") int maxConcurrentFetches) {
+        this.publicHolidayRestTemplate = publicHolidayRestTemplate;
+        this.publicHolidayRepository = publicHolidayRepository;
+        this.countryRepository = countryRepository;
+        this.clock = clock;
+        this.publicHolidayUrl = publicHolidayUrl;
+        this.timeToLive = timeToLive;
+        this.refreshAhead = refreshAhead;
+        this.retryInterval = retryInterval;
+        this.fetchTimeout = fetchTimeout;
+        this.fetchExecutor = Executors.newFixedThreadPool(maxConcurrentFetches, runnable -> {
+            Thread thread = new Thread(runnable, "public-holiday-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Set<LocalDate> findPublicHolidays(Set<String> countryCodes) {
+        Set<LocalDate> publicHolidays = new HashSet<>();
+        Map<String, CompletableFuture<Set<LocalDate>>> publicHolidayFetches = new HashMap<>();
+        countryCodes.forEach(countryCode -> {
+            CachedPublicHolidays cachedPublicHolidays = publicHolidaysByCountryCode.get(countryCode);
+            if (cachedPublicHolidays == null) {
+                publicHolidayFetches.put(countryCode, fetchPublicHolidays(countryCode));
+                return;
+            }
+            if (cachedPublicHolidays.getExpiresAt().isBefore(Instant.now(clock))) requestRefresh(countryCode);
+            publicHolidays.addAll(cachedPublicHolidays.getDates());
+        });
+        long deadline = System.nanoTime() + fetchTimeout.toNanos();
+        publicHolidayFetches.forEach((countryCode, publicHolidayFetch) -> {
+            Set<LocalDate> fetchedPublicHolidays = awaitPublicHolidays(countryCode, publicHolidayFetch, deadline);
+            if (fetchedPublicHolidays == null) {
+                log.error("Exception {} is thrown. Public holidays for the country with code {} are neither received "
+                        + "nor stored in the snapshot", HttpStatus.SERVICE_UNAVAILABLE, countryCode);
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Public holidays for the country with code " + countryCode + " are not available");
+            }
+            publicHolidays.addAll(fetchedPublicHolidays);
+        });
+        log.info("{} public holiday dates are found for the countries with codes {}", publicHolidays.size(), countryCodes);
+        return publicHolidays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        Map<String, List<PublicHolidayEntity>> snapshot = publicHolidayRepository.findAll().stream()
+                .collect(Collectors.groupingBy(PublicHolidayEntity::getCountryCode));
+        countryRepository.findAll().stream()
+                .map(CountryEntity::getCode)
+                .forEach(countryCode -> {
+                    List<PublicHolidayEntity> publicHolidayEntities = snapshot.get(countryCode);
+                    if (publicHolidayEntities == null || publicHolidayEntities.isEmpty()) {
+                        scheduleRefresh(countryCode, Duration.ZERO);
+                        return;
+                    }
+                    CachedPublicHolidays cachedPublicHolidays = toCachedPublicHolidays(publicHolidayEntities);
+                    publicHolidaysByCountryCode.putIfAbsent(countryCode, cachedPublicHolidays);
+                    scheduleRefresh(countryCode,
+                            Duration.between(Instant.now(clock), cachedPublicHolidays.getExpiresAt().minus(refreshAhead)));
+                });
+        log.info("Public holiday snapshot is loaded for {} countries", publicHolidaysByCountryCode.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    private Set<LocalDate> awaitPublicHolidays(String countryCode, CompletableFuture<Set<LocalDate>> publicHolidayFetch,
+                                               long deadline) {
+        try {
+            return publicHolidayFetch.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.error("Public holidays for the country with code {} are not received from the external API within {}",
+                    countryCode, fetchTimeout);
+        } catch (ExecutionException e) {
+            log.error("Public holidays for the country with code {} are not received from the external API: {}",
+                    countryCode, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return findSnapshotPublicHolidays(countryCode);
+    }
+
+    private CompletableFuture<Set<LocalDate>> fetchPublicHolidays(String countryCode) {
+        Instant refreshNotBefore = refreshNotBeforeByCountryCode.get(countryCode);
+        if (refreshNotBefore != null && refreshNotBefore.isAfter(Instant.now(clock))) {
+            CompletableFuture<Set<LocalDate>> skippedFetch = new CompletableFuture<>();
+            skippedFetch.completeExceptionally(
+                    new IllegalStateException("the next attempt is not due before " + refreshNotBefore));
+            return skippedFetch;
+        }
+        CompletableFuture<Set<LocalDate>> publicHolidayFetch = publicHolidayFetchesInProgress.computeIfAbsent(countryCode,
+                key -> CompletableFuture.supplyAsync(() -> loadPublicHolidays(key), fetchExecutor)
+                        .whenComplete((publicHolidays, e) -> {
+                            if (e == null) return;
+                            refreshNotBeforeByCountryCode.put(key, Instant.now(clock).plus(retryInterval));
+                            scheduleRefresh(key, retryInterval);
+                        }));
+        publicHolidayFetch.whenComplete((publicHolidays, e) ->
+                publicHolidayFetchesInProgress.remove(countryCode, publicHolidayFetch));
+        return publicHolidayFetch;
+    }
+
+    private Set<LocalDate> findSnapshotPublicHolidays(String countryCode) {
+        List<PublicHolidayEntity> publicHolidayEntities;
+        try {
+            publicHolidayEntities = publicHolidayRepository.findAllByCountryCode(countryCode);
+        } catch (RuntimeException e) {
+            log.error("Public holiday snapshot for the country with code {} is not available: {}",
+                    countryCode, e.getMessage());
+            return null;
+        }
+        if (publicHolidayEntities.isEmpty()) return null;
+        CachedPublicHolidays cachedPublicHolidays = toCachedPublicHolidays(publicHolidayEntities);
+        publicHolidaysByCountryCode.putIfAbsent(countryCode, cachedPublicHolidays);
+        log.warn("{} public holiday dates for the country with code {} are taken from the snapshot",
+                cachedPublicHolidays.getDates().size(), countryCode);
+        return cachedPublicHolidays.getDates();
+    }
+
+    private CachedPublicHolidays toCachedPublicHolidays(List<PublicHolidayEntity> publicHolidayEntities) {
+        Set<LocalDate> publicHolidays = Collections.unmodifiableSet(publicHolidayEntities.stream()
+                .map(PublicHolidayEntity::getDate)
+                .collect(Collectors.toSet()));
+        Instant fetchedAt = publicHolidayEntities.stream()
+                .map(PublicHolidayEntity::getFetchedAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        return new CachedPublicHolidays(publicHolidays, fetchedAt.plus(timeToLive));
+    }
+
+    private Set<LocalDate> loadPublicHolidays(String countryCode) {
+        Set<LocalDate> publicHolidays = Collections.unmodifiableSet(Arrays.stream(Objects.requireNonNull(
+                        publicHolidayRestTemplate.getForObject(publicHolidayUrl + countryCode, PublicHolidayDto[].class)))
+                .map(publicHolidayDto -> LocalDate.parse(publicHolidayDto.getDate()))
+                .collect(Collectors.toSet()));
+        Instant fetchedAt = Instant.now(clock);
+        publicHolidaysByCountryCode.put(countryCode, new CachedPublicHolidays(publicHolidays, fetchedAt.plus(timeToLive)));
+        refreshNotBeforeByCountryCode.remove(countryCode);
+        scheduleRefresh(countryCode, timeToLive.minus(refreshAhead));
+        saveSnapshot(countryCode, publicHolidays, fetchedAt);
+        log.info("{} public holiday dates for the country with code {} are received from the external API: {}",
+                publicHolidays.size(), countryCode, publicHolidayUrl);
+        return publicHolidays;
+    }
+
+    private void saveSnapshot(String countryCode, Set<LocalDate> publicHolidays, Instant fetchedAt) {
+        try {
+            publicHolidayRepository.replaceAllByCountryCode(countryCode, publicHolidays, fetchedAt);
+        } catch (RuntimeException e) {
+            log.error("Public holiday snapshot for the country with code {} is not saved: {}", countryCode, e.getMessage());
+        }
+    }
+
+    private void requestRefresh(String countryCode) {
+        Instant refreshNotBefore = refreshNotBeforeByCountryCode.get(countryCode);
+        if (refreshNotBefore != null && refreshNotBefore.isAfter(Instant.now(clock))) return;
+        if (!countryCodesBeingRefreshed.add(countryCode)) return;
+        log.warn("Public holidays for the country with code {} are stale, refresh is requested", countryCode);
+        try {
+            refreshExecutor.execute(() -> refreshClaimedPublicHolidays(countryCode));
+        } catch (RuntimeException e) {
+            countryCodesBeingRefreshed.remove(countryCode);
+            log.error("Refresh of public holidays for the country with code {} is not requested: {}",
+                    countryCode, e.getMessage());
+        }
+    }
+
+    private void refreshPublicHolidays(String countryCode) {
+        if (!countryCodesBeingRefreshed.add(countryCode)) return;
+        refreshClaimedPublicHolidays(countryCode);
+    }
+
+    private void refreshClaimedPublicHolidays(String countryCode) {
+        try {
+            loadPublicHolidays(countryCode);
+        } catch (RuntimeException e) {
+            log.warn("Public holidays for the country with code {} are not refreshed, cached dates are kept: {}",
+                    countryCode, e.getMessage());
+            refreshNotBeforeByCountryCode.put(countryCode, Instant.now(clock).plus(retryInterval));
+            scheduleRefresh(countryCode, retryInterval);
+        } finally {
+            countryCodesBeingRefreshed.remove(countryCode);
+        }
+    }
+
+    private void scheduleRefresh(String countryCode, Duration delay) {
+        if (refreshExecutor.isShutdown()) return;
+        ScheduledFuture<?> scheduledRefresh = refreshExecutor.schedule(
+                () -> refreshPublicHolidays(countryCode), Math.max(delay.toMillis(), 0), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previousRefresh = scheduledRefreshes.put(countryCode, scheduledRefresh);
+        if (previousRefresh != null) previousRefresh.cancel(false);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedPublicHolidays {
+
+        private final Set<LocalDate> dates;
+
+        private final Instant expiresAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import lombok.Value;
+
+@Value
+class SchedulingContext {
+
+    TimeSlot requestedTimeSlot;
+
+    BusyCalendar busyCalendar;
+
+    int earliestAvailableStartSecond;
+
+    int latestAvailableStartSecond;
+
+    long[] publicHolidayEpochDays;
+}
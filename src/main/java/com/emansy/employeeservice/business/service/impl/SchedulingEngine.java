@@ -0,0 +1,99 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.service.PublicHolidayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class SchedulingEngine {
+
+    private final PublicHolidayService publicHolidayService;
+
+    TimeSlot findTimeSlotForEvent(Set<EmployeeEntity> attendingEmployeeEntities, Collection<TimeSlot> busyTimeSlots,
+                                  TimeSlot requestedTimeSlot) {
+        return findTimeSlotForEvent(createContext(attendingEmployeeEntities, busyTimeSlots, requestedTimeSlot));
+    }
+
+    private SchedulingContext createContext(Set<EmployeeEntity> attendingEmployeeEntities,
+                                            Collection<TimeSlot> busyTimeSlots, TimeSlot requestedTimeSlot) {
+        LocalTime earliestAvailableStartTime = loadEarliestAvailableStartTime(attendingEmployeeEntities);
+        LocalTime latestAvailableStartTime = attendingEmployeeEntities.stream()
+                .map(EmployeeEntity::getWorkingEndTime)
+                .min(Comparator.naturalOrder())
+                .orElse(LocalTime.parse("18:00:00"))
+                .minusSeconds(requestedTimeSlot.getDuration());
+        if (latestAvailableStartTime.isBefore(earliestAvailableStartTime)) {
+            requestedTimeSlot = new TimeSlot(requestedTimeSlot.getStart(), requestedTimeSlot.getEnd()
+                    - Duration.between(latestAvailableStartTime, earliestAvailableStartTime).getSeconds());
+            latestAvailableStartTime = earliestAvailableStartTime;
+        }
+        log.info("Latest available starting time for the event is {}", latestAvailableStartTime);
+        BusyCalendar busyCalendar = new BusyCalendar(busyTimeSlots);
+        long[] publicHolidayEpochDays = loadPublicHolidays(attendingEmployeeEntities).stream()
+                .mapToLong(LocalDate::toEpochDay)
+                .sorted()
+                .toArray();
+        return new SchedulingContext(
+                requestedTimeSlot,
+                busyCalendar,
+                earliestAvailableStartTime.toSecondOfDay(),
+                latestAvailableStartTime.toSecondOfDay(),
+                publicHolidayEpochDays
+        );
+    }
+
+    private LocalTime loadEarliestAvailableStartTime(Set<EmployeeEntity> attendingEmployeeEntities) {
+        LocalTime earliestAvailableStartTime = attendingEmployeeEntities.stream()
+                .map(EmployeeEntity::getWorkingStartTime)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalTime.parse("09:00:00"));
+        log.info("Earliest available starting time for the event is {}", earliestAvailableStartTime);
+        return earliestAvailableStartTime;
+    }
+
+    private Set<LocalDate> loadPublicHolidays(Set<EmployeeEntity> attendingEmployeeEntities) {
+        Set<String> countryCodes = attendingEmployeeEntities.stream()
+                .map(employeeEntity -> employeeEntity.getOfficeEntity().getCountryEntity().getCode())
+                .collect(Collectors.toSet());
+        if (countryCodes.isEmpty()) countryCodes.add("LV");
+        log.info("Employees from the countries with codes {} are invited to the event", countryCodes);
+        return publicHolidayService.findPublicHolidays(countryCodes);
+    }
+
+    private TimeSlot findTimeSlotForEvent(SchedulingContext context) {
+        long start = context.getRequestedTimeSlot().getStart();
+        long duration = context.getRequestedTimeSlot().getDuration();
+        do {
+            long epochDay = TimeSlot.epochDayOf(start);
+            while (isDayOff(epochDay, context)) {
+                epochDay++;
+                start = TimeSlot.encode(epochDay, context.getEarliestAvailableStartSecond());
+            }
+            long freeStart = context.getBusyCalendar().findFreeStart(start, duration,
+                    TimeSlot.encode(epochDay, context.getLatestAvailableStartSecond()));
+            if (freeStart != BusyCalendar.NO_FREE_START) return new TimeSlot(freeStart, freeStart + duration);
+            start = TimeSlot.encode(epochDay + 1, context.getEarliestAvailableStartSecond());
+        } while (true);
+    }
+
+    private boolean isDayOff(long epochDay, SchedulingContext context) {
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L) + 1;
+        return dayOfWeek == DayOfWeek.SATURDAY.getValue()
+                || dayOfWeek == DayOfWeek.SUNDAY.getValue()
+                || Arrays.binarySearch(context.getPublicHolidayEpochDays(), epochDay) >= 0;
+    }
+}
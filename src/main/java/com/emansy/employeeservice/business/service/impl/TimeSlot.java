@@ -1,23 +1,67 @@
 package com.emansy.employeeservice.business.service.impl;
 
+import com.emansy.employeeservice.business.repository.model.EventIdEntity;
 import com.emansy.employeeservice.model.EventDto;
-import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
 class TimeSlot {
 
-    private LocalDate date;
+    static final int SECONDS_PER_DAY = 86_400;
 
-    private LocalTime startTime;
+    private final long start;
 
-    private LocalTime endTime;
+    private final long end;
 
-    public TimeSlot(EventDto eventDto) {
-        date = LocalDate.parse(eventDto.getDate());
-        startTime = LocalTime.parse(eventDto.getStartTime());
-        endTime = LocalTime.parse(eventDto.getEndTime());
+    TimeSlot(EventDto eventDto) {
+        LocalDate date = LocalDate.parse(eventDto.getDate());
+        start = encode(date, LocalTime.parse(eventDto.getStartTime()));
+        end = encode(date, LocalTime.parse(eventDto.getEndTime()));
+    }
+
+    TimeSlot(EventIdEntity eventIdEntity) {
+        start = encode(eventIdEntity.getDate(), eventIdEntity.getStartTime());
+        end = encode(eventIdEntity.getDate(), eventIdEntity.getEndTime());
+    }
+
+    static long encode(LocalDate date, LocalTime time) {
+        return encode(date.toEpochDay(), time.toSecondOfDay());
+    }
+
+    static long encode(long epochDay, int secondOfDay) {
+        return epochDay * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    static long epochDayOf(long encodedTime) {
+        return Math.floorDiv(encodedTime, SECONDS_PER_DAY);
+    }
+
+    long getEpochDay() {
+        return epochDayOf(start);
+    }
+
+    long getDuration() {
+        return end - start;
+    }
+
+    LocalDate getDate() {
+        return LocalDate.ofEpochDay(getEpochDay());
+    }
+
+    LocalTime getStartTime() {
+        return LocalTime.ofSecondOfDay(Math.floorMod(start, SECONDS_PER_DAY));
+    }
+
+    LocalTime getEndTime() {
+        return LocalTime.ofSecondOfDay(Math.floorMod(end, SECONDS_PER_DAY));
     }
 }
@@ -1,19 +1,23 @@
 package com.emansy.employeeservice.business.service.impl;
 
 import com.emansy.employeeservice.business.mappers.UserMapper;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
 import com.emansy.employeeservice.business.repository.model.UserEntity;
 import com.emansy.employeeservice.business.service.UserService;
 import com.emansy.employeeservice.model.UserDto;
 import com.emansy.employeeservice.security.SecurityUser;
+import com.emansy.employeeservice.security.SecurityUserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.List;
@@ -29,7 +33,11 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final SecurityUserCache securityUserCache;
+
+    private final PasswordEncoder passwordEncoder;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -67,6 +75,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void delete(UserDto userDto) {
         Long id = userDto.getId();
         String email = userDto.getEmail();
@@ -77,11 +86,14 @@ public class UserServiceImpl implements UserService {
             throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "User with id " + id + " and email " + email + " is not found");
         }
         UserEntity userEntityToDelete = userEntityToDeleteOptional.get();
+        refreshTokenRepository.revokeAllByUserId(id);
         userRepository.delete(userEntityToDelete);
+        removeUserFromCacheAfterCommit(email);
         log.info("User is deleted: {}", userEntityToDelete);
     }
 
     @Override
+    @Transactional
     public void changeRole(UserDto userDto) {
         Long id = userDto.getId();
         String email = userDto.getEmail();
@@ -94,10 +106,12 @@ public class UserServiceImpl implements UserService {
         UserEntity userEntityToUpdate = userEntityToUpdateOptional.get();
         userEntityToUpdate.setRole(userDto.getRole());
         userRepository.save(userEntityToUpdate);
+        removeUserFromCacheAfterCommit(email);
         log.info("User role is changed: {}", userEntityToUpdate);
     }
 
     @Override
+    @Transactional
     public void changePassword(UserDto userDto) {
         Long id = userDto.getId();
         String email = userDto.getEmail();
@@ -110,6 +124,21 @@ public class UserServiceImpl implements UserService {
         UserEntity userEntityToUpdate = userEntityToUpdateOptional.get();
         userEntityToUpdate.setPassword(passwordEncoder.encode(userDto.getPassword()));
         userRepository.save(userEntityToUpdate);
+        refreshTokenRepository.revokeAllByUserId(id);
+        removeUserFromCacheAfterCommit(email);
         log.info("Password is changed: {}", userEntityToUpdate);
     }
+
+    private void removeUserFromCacheAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            securityUserCache.removeUserFromCache(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                securityUserCache.removeUserFromCache(email);
+            }
+        });
+    }
 }
@@ -6,10 +6,12 @@ import com.emansy.employeeservice.model.EventDto;
 import com.emansy.employeeservice.model.EventIdsWithinDatesDto;
 import com.emansy.employeeservice.model.EventsDto;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
@@ -62,6 +64,20 @@ public class KafkaConfig {
         return kafkaTemplate;
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> attendanceBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            ProducerFactory<String, EventDto> producerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> listenerContainerFactory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(listenerContainerFactory, consumerFactory);
+        listenerContainerFactory.setBatchListener(true);
+        listenerContainerFactory.getContainerProperties().setMissingTopicsFatal(false);
+        listenerContainerFactory.setReplyTemplate(new KafkaTemplate<>(producerFactory));
+        return listenerContainerFactory;
+    }
+
     @Bean
     public KafkaTemplate<String, AttendeesDto> attendanceKafkaTemplate(ProducerFactory<String, AttendeesDto> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
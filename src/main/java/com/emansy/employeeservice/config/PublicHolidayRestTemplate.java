@@ -1,8 +1,41 @@
 package com.emansy.employeeservice.config;
 
-import org.springframework.context.annotation.Configuration;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-@Configuration
+import java.time.Duration;
+
+@Component
 public class PublicHolidayRestTemplate extends RestTemplate {
+
+    public PublicHolidayRestTemplate(
+            @Value("${public-holiday.client.max-connections:20}") int maxConnections,
+            @Value("${public-holiday.client.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${public-holiday.client.read-timeout:PT5S}") Duration readTimeout) {
+        super(createRequestFactory(maxConnections, connectTimeout, readTimeout));
+    }
+
+    private static ClientHttpRequestFactory createRequestFactory(int maxConnections, Duration connectTimeout,
+                                                                 Duration readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout((int) connectTimeout.toMillis())
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
 }
@@ -1,8 +1,15 @@
 package com.emansy.employeeservice.config;
 
 import com.emansy.employeeservice.business.service.UserService;
+import com.emansy.employeeservice.security.BoundedPasswordEncoder;
+import com.emansy.employeeservice.security.CachingJwtDecoder;
+import com.emansy.employeeservice.security.RateLimitFilter;
+import com.emansy.employeeservice.security.RateLimiter;
+import com.emansy.employeeservice.security.SecurityUserCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,45 +23,73 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Value("${jwt.key}")
     private String jwtKey;
 
+    @Value("${security.jwt-cache.max-size:10000}")
+    private int jwtCacheMaxSize;
+
+    @Value("${security.password-encoder.strength:10}")
+    private int passwordEncoderStrength;
+
+    @Value("${security.password-encoder.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordEncoderThreads;
+
+    @Value("${security.password-encoder.queue-capacity:10}")
+    private int passwordEncoderQueueCapacity;
+
+    @Value("${security.password-encoder.max-queue-wait:PT0.5S}")
+    private Duration passwordEncoderMaxQueueWait;
+
     @Bean
-    public AuthenticationManager authenticationManager(UserService userService) {
+    public AuthenticationManager authenticationManager(UserService userService, SecurityUserCache securityUserCache) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
+        authProvider.setUserCache(securityUserCache);
         authProvider.setPasswordEncoder(passwordEncoder());
         return new ProviderManager(authProvider);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitProperties rateLimitProperties,
+                                                   RateLimiter rateLimiter, ObjectMapper objectMapper) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .mvcMatchers("/api/v1/token", "/v2/api-docs", "/swagger-resources/**", "/swagger-ui/**").permitAll()
+                        .mvcMatchers("/api/v1/token", "/api/v1/token/refresh", "/v2/api-docs", "/swagger-resources/**", "/swagger-ui/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer(OAuth2ResourceServerConfigurer::jwt)
+                .addFilterAfter(new RateLimitFilter(rateLimitProperties, rateLimiter, objectMapper),
+                        BearerTokenAuthenticationFilter.class)
                 .build();
     }
 
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties rateLimitProperties) {
+        return new RateLimiter(rateLimitProperties.getIdleTimeout());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(passwordEncoderStrength), passwordEncoderThreads, passwordEncoderQueueCapacity,
+                passwordEncoderMaxQueueWait);
     }
 
     @Bean
@@ -63,9 +98,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public CachingJwtDecoder jwtDecoder() {
         byte[] bytes = jwtKey.getBytes();
         SecretKeySpec originalKey = new SecretKeySpec(bytes, 0, bytes.length, "RSA");
-        return NimbusJwtDecoder.withSecretKey(originalKey).macAlgorithm(MacAlgorithm.HS256).build();
+        return new CachingJwtDecoder(
+                NimbusJwtDecoder.withSecretKey(originalKey).macAlgorithm(MacAlgorithm.HS256).build(), jwtCacheMaxSize);
     }
 }
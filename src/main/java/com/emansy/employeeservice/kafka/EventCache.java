@@ -0,0 +1,63 @@
+package com.emansy.employeeservice.kafka;
+
+import com.emansy.employeeservice.model.EventDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Log4j2
+@Component
+public class EventCache {
+
+    private final Duration timeToLive;
+
+    private final Map<Long, CachedEvent> cachedEventsById;
+
+    public EventCache(@Value("${kafka.events-cache.time-to-live:PT30S}") Duration timeToLive,
+                      @Value("${kafka.events-cache.max-size:10000}") int maxSize) {
+        this.timeToLive = timeToLive;
+        this.cachedEventsById = new LinkedHashMap<Long, CachedEvent>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedEvent> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<EventDto> findById(Long id) {
+        CachedEvent cachedEvent = cachedEventsById.get(id);
+        if (cachedEvent == null) return Optional.empty();
+        if (cachedEvent.getExpiresAt().isBefore(Instant.now())) {
+            cachedEventsById.remove(id);
+            return Optional.empty();
+        }
+        return Optional.of(cachedEvent.getEventDto());
+    }
+
+    public synchronized void saveAll(Collection<EventDto> eventDtos) {
+        Instant expiresAt = Instant.now().plus(timeToLive);
+        eventDtos.forEach(eventDto -> cachedEventsById.put(eventDto.getId(), new CachedEvent(eventDto, expiresAt)));
+    }
+
+    public synchronized void evictById(Long id) {
+        if (cachedEventsById.remove(id) != null) log.debug("Cached event with id {} is evicted", id);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedEvent {
+
+        private final EventDto eventDto;
+
+        private final Instant expiresAt;
+    }
+}
@@ -1,21 +1,32 @@
 package com.emansy.employeeservice.kafka;
 
 import com.emansy.employeeservice.business.service.EmployeeService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
 import com.emansy.employeeservice.model.AttendeeIdsDto;
+import com.emansy.employeeservice.model.AttendeesDto;
+import com.emansy.employeeservice.model.EmployeeDto;
 import com.emansy.employeeservice.model.EmployeesDto;
 import com.emansy.employeeservice.model.EventDto;
 import com.emansy.employeeservice.model.EventIdDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 @Log4j2
 @RequiredArgsConstructor
@@ -24,6 +35,10 @@ public class KafkaConsumer {
 
     private final EmployeeService employeeService;
 
+    private final EventCache eventCache;
+
+    private final AttendanceIndex attendanceIndex;
+
     @KafkaListener(topics = "employees-request", groupId = "employee-group")
     @SendTo
     public Message<EmployeesDto> handleEmployeesRequest(ConsumerRecord<String, EventIdDto> consumerRecord) {
@@ -36,12 +51,15 @@ public class KafkaConsumer {
         return MessageBuilder.withPayload(new EmployeesDto(employeeService.findNonAttendingEmployees(eventId))).build();
     }
 
-    @KafkaListener(topics = "attendance-request", groupId = "employee-group")
+    @KafkaListener(topics = "attendance-request", groupId = "employee-group",
+            concurrency = "${kafka.attendance-request.concurrency:1}",
+            autoStartup = "#{!${kafka.attendance-request.batch-enabled:false}}")
     @SendTo
     public Message<EventDto> handleAttendanceRequest(ConsumerRecord<String, AttendeeIdsDto> consumerRecord)
             throws ExecutionException, InterruptedException {
         Set<Long> employeeIds = consumerRecord.value().getEmployeeIds();
         EventDto eventDto = consumerRecord.value().getEventDto();
+        eventCache.evictById(eventDto.getId());
         if (consumerRecord.value().getWhetherToAttendOrToUnattend()) {
             log.info("Request for employees' with ids {} attendance of event with id {} is received",
                     employeeIds, eventDto.getId());
@@ -56,4 +74,94 @@ public class KafkaConsumer {
                 employeeIds, eventDto.getId());
         return MessageBuilder.withPayload(employeeService.unattendEvent(employeeIds, eventDto)).build();
     }
+
+    @KafkaListener(topics = "attendance-request", groupId = "employee-group",
+            containerFactory = "attendanceBatchListenerContainerFactory",
+            concurrency = "${kafka.attendance-request.concurrency:1}",
+            autoStartup = "${kafka.attendance-request.batch-enabled:false}",
+            properties = "max.poll.records=${kafka.attendance-request.max-batch-size:100}")
+    @SendTo
+    public List<Message<EventDto>> handleAttendanceRequests(List<ConsumerRecord<String, AttendeeIdsDto>> consumerRecords)
+            throws ExecutionException, InterruptedException {
+        List<AttendeeIdsDto> attendeeIdsDtos = new ArrayList<>();
+        consumerRecords.forEach(consumerRecord -> {
+            eventCache.evictById(consumerRecord.value().getEventDto().getId());
+            attendeeIdsDtos.add(consumerRecord.value());
+        });
+        log.info("Batch of {} attendance requests is received", consumerRecords.size());
+        List<EventDto> eventDtos;
+        try {
+            eventDtos = employeeService.handleAttendanceRequests(attendeeIdsDtos);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Batch of attendance requests is not handled, requests are handled one by one: {}", e.getMessage());
+            eventDtos = new ArrayList<>();
+            for (AttendeeIdsDto attendeeIdsDto : attendeeIdsDtos) {
+                eventDtos.add(handleAttendanceRequestAlone(attendeeIdsDto));
+            }
+        }
+        List<Message<EventDto>> replies = new ArrayList<>();
+        for (int i = 0; i < consumerRecords.size(); i++) {
+            if (eventDtos.get(i) == null) continue;
+            if (consumerRecords.get(i).headers().lastHeader(KafkaHeaders.REPLY_TOPIC) == null) {
+                log.warn("Attendance request for event with id {} has no reply topic, no reply is sent",
+                        eventDtos.get(i).getId());
+                continue;
+            }
+            replies.add(createReply(eventDtos.get(i), consumerRecords.get(i)));
+        }
+        return replies;
+    }
+
+    @KafkaListener(topics = "event-change", groupId = "employee-group",
+            autoStartup = "${kafka.event-change.enabled:false}")
+    public void handleEventChange(ConsumerRecord<String, EventDto> consumerRecord) {
+        log.info("Change of event with id {} is received", consumerRecord.value().getId());
+        eventCache.evictById(consumerRecord.value().getId());
+        employeeService.updateEvent(consumerRecord.value());
+    }
+
+    @KafkaListener(topics = "attendance-notification",
+            groupId = "${attendance-index.notification-listener.group-id:employee-attendance-index-${HOSTNAME:local}}",
+            autoStartup = "${attendance-index.notification-listener.enabled:true}",
+            properties = "auto.offset.reset=latest")
+    public void handleAttendanceNotification(ConsumerRecord<String, AttendeesDto> consumerRecord) {
+        Long eventId = consumerRecord.value().getEventDto().getId();
+        Set<Long> employeeIds = consumerRecord.value().getEmployeeDtos().stream()
+                .map(EmployeeDto::getId)
+                .collect(Collectors.toSet());
+        log.info("Attendance notification for employees with ids {} and event with id {} is received",
+                employeeIds, eventId);
+        if (consumerRecord.value().getWhetherToAttendOrToUnattend()) {
+            attendanceIndex.addAttendances(eventId, employeeIds);
+            return;
+        }
+        attendanceIndex.removeAttendances(eventId, employeeIds);
+    }
+
+    private EventDto handleAttendanceRequestAlone(AttendeeIdsDto attendeeIdsDto) throws InterruptedException {
+        try {
+            return employeeService.handleAttendanceRequests(Collections.singletonList(attendeeIdsDto)).get(0);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Attendance request for event with id {} is not handled, no reply is sent",
+                    attendeeIdsDto.getEventDto().getId(), e);
+            return null;
+        }
+    }
+
+    private Message<EventDto> createReply(EventDto eventDto, ConsumerRecord<String, AttendeeIdsDto> consumerRecord) {
+        MessageBuilder<EventDto> messageBuilder = MessageBuilder.withPayload(eventDto);
+        messageBuilder.setHeader(KafkaHeaders.TOPIC,
+                new String(consumerRecord.headers().lastHeader(KafkaHeaders.REPLY_TOPIC).value(), StandardCharsets.UTF_8));
+        Header replyPartition = consumerRecord.headers().lastHeader(KafkaHeaders.REPLY_PARTITION);
+        if (replyPartition != null) {
+            messageBuilder.setHeader(KafkaHeaders.PARTITION_ID, ByteBuffer.wrap(replyPartition.value()).getInt());
+        }
+        Header correlationId = consumerRecord.headers().lastHeader(KafkaHeaders.CORRELATION_ID);
+        if (correlationId != null) messageBuilder.setHeader(KafkaHeaders.CORRELATION_ID, correlationId.value());
+        return messageBuilder.build();
+    }
 }
@@ -5,21 +5,34 @@ import com.emansy.employeeservice.model.EmployeeDto;
 import com.emansy.employeeservice.model.EventDto;
 import com.emansy.employeeservice.model.EventIdsWithinDatesDto;
 import com.emansy.employeeservice.model.EventsDto;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PreDestroy;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Log4j2
-@RequiredArgsConstructor
 @Component
 public class KafkaProducer {
 
@@ -27,25 +40,168 @@ public class KafkaProducer {
 
     private final KafkaTemplate<String, AttendeesDto> attendanceKafkaTemplate;
 
+    private final EventCache eventCache;
+
+    private final Duration eventsRequestBatchWindow;
+
+    private final Map<String, EventsRequestBatch> openEventsRequestBatches = new HashMap<>();
+
+    private final Map<String, Set<EventsRequestBatch>> sentEventsRequestBatches = new HashMap<>();
+
+    private final ScheduledExecutorService eventsRequestExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "events-request-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KafkaProducer(
+            ReplyingKafkaTemplate<String, EventIdsWithinDatesDto, EventsDto> eventsReplyingKafkaTemplate,
+            KafkaTemplate<String, AttendeesDto> attendanceKafkaTemplate,
+            EventCache eventCache,
+            @Value("${kafka.events-request.batch-window:PT0.01S}") Duration eventsRequestBatchWindow) {
+        this.eventsReplyingKafkaTemplate = eventsReplyingKafkaTemplate;
+        this.attendanceKafkaTemplate = attendanceKafkaTemplate;
+        this.eventCache = eventCache;
+        this.eventsRequestBatchWindow = eventsRequestBatchWindow;
+    }
+
     public Set<EventDto> requestAndReceiveEvents(Set<Long> eventIds, String fromDate, String thruDate)
             throws ExecutionException, InterruptedException {
-        ConsumerRecord<String, EventsDto> consumerRecord = eventsReplyingKafkaTemplate.sendAndReceive(
-                new ProducerRecord<>("events-request", new EventIdsWithinDatesDto(eventIds, fromDate, thruDate)),
-                Duration.ofSeconds(10)
-        ).get();
-        if (consumerRecord == null) {
-            log.error("Something went wrong, no response from kafka topic: events-response");
-            return Collections.emptySet();
+        return requestEvents(eventIds, fromDate, thruDate).get();
+    }
+
+    public CompletableFuture<Set<EventDto>> requestEvents(Set<Long> eventIds, String fromDate, String thruDate) {
+        Set<EventDto> cachedEventDtos = new HashSet<>();
+        Set<Long> uncachedEventIds = new HashSet<>();
+        eventIds.forEach(eventId -> {
+            Optional<EventDto> cachedEventDto = eventCache.findById(eventId);
+            if (!cachedEventDto.isPresent()) {
+                uncachedEventIds.add(eventId);
+            } else if (isScheduledBetween(cachedEventDto.get(), fromDate, thruDate)) {
+                cachedEventDtos.add(cachedEventDto.get());
+            }
+        });
+        if (uncachedEventIds.isEmpty()) {
+            log.info("{} events are found in the cache, no events request is needed", cachedEventDtos.size());
+            return CompletableFuture.completedFuture(cachedEventDtos);
         }
-        Set<EventDto> eventDtos = consumerRecord.value().getEventDtos();
-        log.info("{} events received from kafka topic: events-response", eventDtos.size());
-        return eventDtos;
+        if (cachedEventDtos.isEmpty()) return requestUncachedEvents(uncachedEventIds, fromDate, thruDate);
+        log.info("{} events are found in the cache, events with ids {} are requested", cachedEventDtos.size(),
+                uncachedEventIds);
+        return requestUncachedEvents(uncachedEventIds, fromDate, thruDate).thenApply(eventDtos -> {
+            Set<EventDto> allEventDtos = new HashSet<>(cachedEventDtos);
+            allEventDtos.addAll(eventDtos);
+            return allEventDtos;
+        });
     }
 
     public void sendAttendanceNotification(Boolean whetherToAttendOrToUnattend, Set<EmployeeDto> employeeDtos, EventDto eventDto) {
-        attendanceKafkaTemplate.send("attendance-notification",
-                new AttendeesDto(whetherToAttendOrToUnattend, employeeDtos, eventDto));
-        log.info("Attendance notification for {} employees is sent to kafka topic: attendance-notification",
-                employeeDtos.size());
+        AttendeesDto attendeesDto = new AttendeesDto(whetherToAttendOrToUnattend, employeeDtos, eventDto);
+        Runnable notification = () -> {
+            attendanceKafkaTemplate.send("attendance-notification", attendeesDto);
+            log.info("Attendance notification for {} employees is sent to kafka topic: attendance-notification",
+                    employeeDtos.size());
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notification.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notification.run();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventsRequestExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<Set<EventDto>> requestUncachedEvents(Set<Long> eventIds, String fromDate, String thruDate) {
+        String dateRange = fromDate + "/" + thruDate;
+        EventsRequestBatch eventsRequestBatch;
+        synchronized (openEventsRequestBatches) {
+            eventsRequestBatch = sentEventsRequestBatches.getOrDefault(dateRange, Collections.emptySet()).stream()
+                    .filter(sentEventsRequestBatch -> sentEventsRequestBatch.getEventIds().containsAll(eventIds))
+                    .findAny()
+                    .orElse(null);
+            if (eventsRequestBatch == null) {
+                eventsRequestBatch = openEventsRequestBatches.computeIfAbsent(dateRange, key -> {
+                    EventsRequestBatch openEventsRequestBatch = new EventsRequestBatch(fromDate, thruDate);
+                    eventsRequestExecutor.schedule(() -> sendEventsRequest(key, openEventsRequestBatch),
+                            eventsRequestBatchWindow.toMillis(), TimeUnit.MILLISECONDS);
+                    return openEventsRequestBatch;
+                });
+                eventsRequestBatch.getEventIds().addAll(eventIds);
+            } else {
+                log.debug("Events request for ids {} joins the events request already sent", eventIds);
+            }
+        }
+        return eventsRequestBatch.getReply().thenApply(eventDtos -> eventDtos.stream()
+                .filter(eventDto -> eventIds.contains(eventDto.getId()))
+                .collect(Collectors.toSet()));
+    }
+
+    private void sendEventsRequest(String dateRange, EventsRequestBatch eventsRequestBatch) {
+        synchronized (openEventsRequestBatches) {
+            openEventsRequestBatches.remove(dateRange, eventsRequestBatch);
+            sentEventsRequestBatches.computeIfAbsent(dateRange, key -> new HashSet<>()).add(eventsRequestBatch);
+        }
+        try {
+            eventsReplyingKafkaTemplate.sendAndReceive(
+                    new ProducerRecord<>("events-request", new EventIdsWithinDatesDto(
+                            eventsRequestBatch.getEventIds(), eventsRequestBatch.getFromDate(), eventsRequestBatch.getThruDate())),
+                    Duration.ofSeconds(10)
+            ).completable().whenComplete((consumerRecord, e) -> {
+                removeSentEventsRequest(dateRange, eventsRequestBatch);
+                if (e != null) {
+                    eventsRequestBatch.getReply().completeExceptionally(e);
+                    return;
+                }
+                if (consumerRecord == null) {
+                    log.error("Something went wrong, no response from kafka topic: events-response");
+                    eventsRequestBatch.getReply().complete(Collections.emptySet());
+                    return;
+                }
+                Set<EventDto> eventDtos = consumerRecord.value().getEventDtos();
+                log.info("{} events received from kafka topic: events-response", eventDtos.size());
+                eventCache.saveAll(eventDtos);
+                eventsRequestBatch.getReply().complete(eventDtos);
+            });
+            log.info("Events request for {} event ids is sent to kafka topic: events-request",
+                    eventsRequestBatch.getEventIds().size());
+        } catch (RuntimeException e) {
+            removeSentEventsRequest(dateRange, eventsRequestBatch);
+            eventsRequestBatch.getReply().completeExceptionally(e);
+        }
+    }
+
+    private boolean isScheduledBetween(EventDto eventDto, String fromDate, String thruDate) {
+        LocalDate date = LocalDate.parse(eventDto.getDate());
+        return !date.isBefore(LocalDate.parse(fromDate)) && (thruDate.isEmpty() || !date.isAfter(LocalDate.parse(thruDate)));
+    }
+
+    private void removeSentEventsRequest(String dateRange, EventsRequestBatch eventsRequestBatch) {
+        synchronized (openEventsRequestBatches) {
+            Set<EventsRequestBatch> eventsRequestBatches = sentEventsRequestBatches.get(dateRange);
+            if (eventsRequestBatches == null) return;
+            eventsRequestBatches.remove(eventsRequestBatch);
+            if (eventsRequestBatches.isEmpty()) sentEventsRequestBatches.remove(dateRange);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class EventsRequestBatch {
+
+        private final String fromDate;
+
+        private final String thruDate;
+
+        private final Set<Long> eventIds = new HashSet<>();
+
+        private final CompletableFuture<Set<EventDto>> reply = new CompletableFuture<>();
     }
 }
@@ -0,0 +1,26 @@
+package com.emansy.employeeservice.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@ApiModel(value = "Model of cache statistics ")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDto {
+
+    @ApiModelProperty(value = "Name of a cache region or cache")
+    private String regionName;
+
+    @ApiModelProperty(value = "Number of lookups answered by the cache region")
+    private long hitCount;
+
+    @ApiModelProperty(value = "Number of lookups not answered by the cache region")
+    private long missCount;
+
+    @ApiModelProperty(value = "Number of entries put into the cache region")
+    private long putCount;
+}
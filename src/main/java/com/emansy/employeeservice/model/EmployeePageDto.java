@@ -0,0 +1,22 @@
+package com.emansy.employeeservice.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@ApiModel(value = "Model of a page of employee data ")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDto {
+
+    @ApiModelProperty(value = "Employees of the page, ordered by id")
+    private List<EmployeeDto> employeeDtos;
+
+    @ApiModelProperty(value = "Id to request the next page after, absent on the last page")
+    private Long nextAfterId;
+}
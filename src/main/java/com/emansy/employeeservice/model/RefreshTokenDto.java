@@ -0,0 +1,22 @@
+package com.emansy.employeeservice.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.validation.constraints.NotBlank;
+
+@ApiModel(value = "Model of refresh token data")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Component
+public class RefreshTokenDto {
+
+    @ApiModelProperty(value = "Refresh token received in the Refresh-Token header of the previous token response")
+    @NotBlank(message = "Required")
+    private String refreshToken;
+}
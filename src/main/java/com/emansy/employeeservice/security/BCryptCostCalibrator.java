@@ -0,0 +1,50 @@
+package com.emansy.employeeservice.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+public class BCryptCostCalibrator {
+
+    private static final int MIN_STRENGTH = 4;
+
+    private static final int MAX_STRENGTH = 31;
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    public static void main(String[] args) {
+        Duration targetLatency = Duration.parse(args.length > 0 ? args[0] : "PT0.25S");
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int strength = calibrate(targetLatency, samples, System.out);
+        System.out.printf("BCrypt strength %d meets the target verification latency of %d ms on this machine, "
+                + "set security.password-encoder.strength=%d%n", strength, targetLatency.toMillis(), strength);
+    }
+
+    public static int calibrate(Duration targetLatency, int samples, PrintStream out) {
+        int calibratedStrength = MIN_STRENGTH;
+        out.printf("%-10s%s%n", "strength", "median verification latency, ms");
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            Duration latency = measureVerification(strength, samples);
+            out.printf("%-10d%d%n", strength, latency.toMillis());
+            if (latency.compareTo(targetLatency) > 0) break;
+            calibratedStrength = strength;
+        }
+        return calibratedStrength;
+    }
+
+    private static Duration measureVerification(int strength, int samples) {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        String encodedPassword = passwordEncoder.encode(SAMPLE_PASSWORD);
+        passwordEncoder.matches(SAMPLE_PASSWORD, encodedPassword);
+        long[] latencies = new long[Math.max(samples, 1)];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            passwordEncoder.matches(SAMPLE_PASSWORD, encodedPassword);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return Duration.ofNanos(latencies[latencies.length / 2]);
+    }
+}
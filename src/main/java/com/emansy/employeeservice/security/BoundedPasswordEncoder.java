@@ -0,0 +1,87 @@
+package com.emansy.employeeservice.security;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Log4j2
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor passwordExecutor;
+
+    private final Duration maxQueueWait;
+
+    public BoundedPasswordEncoder(PasswordEncoder passwordEncoder, int threads, int queueCapacity, Duration maxQueueWait) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxQueueWait = maxQueueWait;
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        this.passwordExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        passwordExecutor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> passwordWork) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = passwordExecutor.submit(() -> {
+                long queueWait = System.nanoTime() - submittedAt;
+                if (queueWait > maxQueueWait.toNanos()) {
+                    log.warn("Password work is rejected after waiting {} ms in the queue, the limit is {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(queueWait), maxQueueWait.toMillis());
+                    throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Password service is busy, try again later");
+                }
+                return passwordWork.call();
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password work is rejected, {} tasks are already waiting", passwordExecutor.getQueue().size());
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Password service is busy, try again later");
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Password work is interrupted");
+        }
+    }
+}
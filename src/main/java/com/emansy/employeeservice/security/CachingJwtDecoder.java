@@ -0,0 +1,96 @@
+package com.emansy.employeeservice.security;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Log4j2
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder jwtDecoder;
+
+    private final int maxSize;
+
+    private final Map<String, Jwt> jwtsByDigest;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder putCount = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder jwtDecoder, int maxSize) {
+        this.jwtDecoder = jwtDecoder;
+        this.maxSize = maxSize;
+        this.jwtsByDigest = new LinkedHashMap<String, Jwt>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                if (size() <= maxSize) return false;
+                log.debug("Cached JWT is evicted, cache size is limited to {}", maxSize);
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String digest = digest(token);
+        Jwt cachedJwt = findCachedJwt(digest);
+        if (cachedJwt != null) {
+            hitCount.increment();
+            return cachedJwt;
+        }
+        missCount.increment();
+        Jwt jwt = jwtDecoder.decode(token);
+        if (maxSize > 0 && jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) put(digest, jwt);
+        return jwt;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getPutCount() {
+        return putCount.sum();
+    }
+
+    public synchronized int size() {
+        return jwtsByDigest.size();
+    }
+
+    private synchronized Jwt findCachedJwt(String digest) {
+        Jwt cachedJwt = jwtsByDigest.get(digest);
+        if (cachedJwt == null) return null;
+        if (cachedJwt.getExpiresAt().isAfter(Instant.now())) return cachedJwt;
+        jwtsByDigest.remove(digest);
+        return null;
+    }
+
+    private synchronized void put(String digest, Jwt jwt) {
+        jwtsByDigest.put(digest, jwt);
+        putCount.increment();
+    }
+
+    private String digest(String token) {
+        try {
+            return Base64.getEncoder().encodeToString(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.emansy.employeeservice.security;
+
+import com.emansy.employeeservice.business.handlers.ErrorModel;
+import com.emansy.employeeservice.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Log4j2
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final RateLimitProperties rateLimitProperties;
+
+    private final RateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        String clientKey = null;
+        for (Map.Entry<String, RateLimitProperties.Route> routeEntry : rateLimitProperties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = routeEntry.getValue();
+            if (!matches(route, request.getMethod(), path)) continue;
+            if (clientKey == null) clientKey = resolveClientKey(request);
+            Duration retryAfter = rateLimiter.tryConsume(
+                    routeEntry.getKey() + ":" + clientKey, route.getCapacity(), route.getRefillPeriod());
+            if (!retryAfter.isZero()) {
+                log.warn("Rate limit of route {} is exceeded by {}", routeEntry.getKey(), clientKey);
+                reject(request, response, route, retryAfter, path);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Route route, String method, String path) {
+        return (route.getMethod() == null || route.getMethod().equalsIgnoreCase(method))
+                && pathMatcher.match(route.getPattern(), path);
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "principal:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimitProperties.Route route,
+                        Duration retryAfter, String path) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        ErrorModel errorModel = new ErrorModel(LocalDateTime.now(), HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit of " + route.getCapacity() + " requests per " + route.getRefillPeriod() + " is exceeded",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorModel);
+        log.debug("Request to {} is rejected, retry after {} seconds", path, retryAfterSeconds);
+    }
+}
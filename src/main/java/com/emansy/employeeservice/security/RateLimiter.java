@@ -0,0 +1,91 @@
+package com.emansy.employeeservice.security;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Log4j2
+public class RateLimiter {
+
+    private final long idleTimeoutNanos;
+
+    private final Map<String, TokenBucket> bucketsByKey = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimiter(Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        long evictionPeriodMillis = Math.max(idleTimeout.toMillis() / 2, 1000);
+        evictionExecutor.scheduleWithFixedDelay(
+                this::evictIdleBuckets, evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Duration tryConsume(String key, long capacity, Duration refillPeriod) {
+        long now = System.nanoTime();
+        TokenBucket tokenBucket = bucketsByKey.computeIfAbsent(key, ignoredKey -> new TokenBucket(capacity, refillPeriod, now));
+        return Duration.ofNanos(tokenBucket.tryConsume(now));
+    }
+
+    public int size() {
+        return bucketsByKey.size();
+    }
+
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int sizeBefore = bucketsByKey.size();
+        bucketsByKey.values().removeIf(tokenBucket -> now - tokenBucket.lastAccessNanos > idleTimeoutNanos);
+        log.debug("{} idle rate limit buckets are evicted", sizeBefore - bucketsByKey.size());
+    }
+
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+    }
+
+    private static class TokenBucket {
+
+        private final long capacity;
+
+        private final double nanosPerToken;
+
+        private final AtomicReference<State> state;
+
+        private volatile long lastAccessNanos;
+
+        private TokenBucket(long capacity, Duration refillPeriod, long now) {
+            this.capacity = capacity;
+            this.nanosPerToken = (double) refillPeriod.toNanos() / Math.max(capacity, 1);
+            this.state = new AtomicReference<>(new State(capacity, now));
+            this.lastAccessNanos = now;
+        }
+
+        private long tryConsume(long now) {
+            lastAccessNanos = now;
+            while (true) {
+                State current = state.get();
+                long refilledAt = Math.max(now, current.refilledAtNanos);
+                double tokens = Math.min(capacity, current.tokens + (refilledAt - current.refilledAtNanos) / nanosPerToken);
+                if (tokens < 1) return (long) Math.ceil((1 - tokens) * nanosPerToken);
+                if (state.compareAndSet(current, new State(tokens - 1, refilledAt))) return 0;
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class State {
+
+        private final double tokens;
+
+        private final long refilledAtNanos;
+    }
+}
@@ -1,7 +1,7 @@
 package com.emansy.employeeservice.security;
 
 import com.emansy.employeeservice.business.repository.model.UserEntity;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,24 +9,38 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Arrays;
 import java.util.Collection;
 
-@RequiredArgsConstructor
 public class SecurityUser implements UserDetails {
 
-    private final UserEntity userEntity;
+    @Getter
+    private final Long id;
+
+    private final String email;
+
+    private final String password;
+
+    @Getter
+    private final String role;
+
+    public SecurityUser(UserEntity userEntity) {
+        this.id = userEntity.getId();
+        this.email = userEntity.getEmail();
+        this.password = userEntity.getPassword();
+        this.role = userEntity.getRole();
+    }
 
     @Override
     public String getUsername() {
-        return userEntity.getEmail();
+        return email;
     }
 
     @Override
     public String getPassword() {
-        return userEntity.getPassword();
+        return password;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Arrays.asList(new SimpleGrantedAuthority(userEntity.getRole()));
+        return Arrays.asList(new SimpleGrantedAuthority(role));
     }
 
     @Override
@@ -0,0 +1,65 @@
+package com.emansy.employeeservice.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Log4j2
+@Component
+public class SecurityUserCache implements UserCache {
+
+    private final Duration timeToLive;
+
+    private final Map<String, CachedUser> cachedUsersByEmail;
+
+    public SecurityUserCache(@Value("${security.principal-cache.time-to-live:PT1M}") Duration timeToLive,
+                             @Value("${security.principal-cache.max-size:1000}") int maxSize) {
+        this.timeToLive = timeToLive;
+        this.cachedUsersByEmail = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized UserDetails getUserFromCache(String email) {
+        CachedUser cachedUser = cachedUsersByEmail.get(email);
+        if (cachedUser == null) return null;
+        if (cachedUser.getExpiresAt().isBefore(Instant.now())) {
+            cachedUsersByEmail.remove(email);
+            return null;
+        }
+        return cachedUser.getUserDetails();
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails userDetails) {
+        if (timeToLive.isZero() || timeToLive.isNegative()) return;
+        cachedUsersByEmail.put(userDetails.getUsername(), new CachedUser(userDetails, Instant.now().plus(timeToLive)));
+    }
+
+    @Override
+    public synchronized void removeUserFromCache(String email) {
+        if (cachedUsersByEmail.remove(email) != null) log.debug("Cached user with email {} is evicted", email);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedUser {
+
+        private final UserDetails userDetails;
+
+        private final Instant expiresAt;
+    }
+}
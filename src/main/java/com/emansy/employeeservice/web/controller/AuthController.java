@@ -2,6 +2,7 @@ package com.emansy.employeeservice.web.controller;
 
 import com.emansy.employeeservice.business.service.TokenService;
 import com.emansy.employeeservice.model.LoginDto;
+import com.emansy.employeeservice.model.RefreshTokenDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -29,13 +30,15 @@ import javax.validation.Valid;
 @RequestMapping("/api/v1/token")
 public class AuthController {
 
+    private static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+
     private final TokenService tokenService;
 
     private final AuthenticationManager authenticationManager;
 
     @PostMapping
     @ApiOperation(value = "Returns a JWT (Json Web Token)",
-            notes = "Provide employee's valid email and password to obtain a JWT",
+            notes = "Provide employee's valid email and password to obtain a JWT and a refresh token in the Refresh-Token header",
             response = String.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success"),
@@ -53,6 +56,34 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword()));
         String token = tokenService.generateToken(authentication);
         log.debug("JWT is generated: {}", token);
-        return ResponseEntity.ok(token);
+        return ResponseEntity.ok()
+                .header(REFRESH_TOKEN_HEADER, tokenService.generateRefreshToken(authentication))
+                .body(token);
+    }
+
+    @PostMapping("/refresh")
+    @ApiOperation(value = "Returns a new JWT (Json Web Token) for a refresh token",
+            notes = "Provide a valid refresh token to obtain a new JWT and a new refresh token in the Refresh-Token header. " +
+                    "The refresh token provided can not be used again",
+            response = String.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success"),
+            @ApiResponse(code = 400, message = "Missing refresh token"),
+            @ApiResponse(code = 401, message = "Refresh token is invalid, expired or revoked"),
+            @ApiResponse(code = 404, message = "The server has not found anything matching the Request-URI"),
+            @ApiResponse(code = 500, message = "Server error")})
+    public ResponseEntity<String> refreshToken(@Valid @RequestBody RefreshTokenDto refreshTokenDto,
+                                               BindingResult bindingResult) {
+        log.info("Request for a JWT token by passing a refresh token");
+        if (bindingResult.hasErrors()) {
+            log.error("JWT is not refreshed: error {}", bindingResult);
+            return ResponseEntity.badRequest().build();
+        }
+        Authentication authentication = tokenService.authenticateRefreshToken(refreshTokenDto.getRefreshToken());
+        String token = tokenService.generateToken(authentication);
+        log.debug("JWT is refreshed: {}", token);
+        return ResponseEntity.ok()
+                .header(REFRESH_TOKEN_HEADER, tokenService.generateRefreshToken(authentication))
+                .body(token);
     }
 }
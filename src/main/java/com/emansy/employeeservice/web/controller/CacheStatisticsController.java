@@ -0,0 +1,52 @@
+package com.emansy.employeeservice.web.controller;
+
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
+import com.emansy.employeeservice.model.CacheStatisticsDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@Api(tags = "Cache Statistics Controller")
+@Log4j2
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/cache-statistics")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping
+    @ApiOperation(value = "Finds cache statistics",
+            notes = "Returns hit, miss and put counts of every cache region, of the query cache "
+                    + "and of the verified JWT cache",
+            response = CacheStatisticsDto.class, responseContainer = "List")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The request has succeeded"),
+            @ApiResponse(code = 401, message = "The request requires user authentication"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 500, message = "Server error")})
+    public ResponseEntity<List<CacheStatisticsDto>> findCacheStatistics(@AuthenticationPrincipal Jwt token) {
+        Map<String, Object> claims = token.getClaims();
+        if (!claims.get("role").equals("[ADMIN]")) {
+            log.warn("Access denied. Requested resource is forbidden");
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        log.info("Retrieve cache statistics");
+        List<CacheStatisticsDto> cacheStatistics = cacheStatisticsService.findAll();
+        log.debug("Number of cache regions is {}", cacheStatistics.size());
+        return ResponseEntity.ok(cacheStatistics);
+    }
+}
@@ -2,7 +2,9 @@ package com.emansy.employeeservice.web.controller;
 
 import com.emansy.employeeservice.business.service.EmployeeService;
 import com.emansy.employeeservice.model.EmployeeDto;
+import com.emansy.employeeservice.model.EmployeePageDto;
 import com.emansy.employeeservice.model.EventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -11,6 +13,7 @@ import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -24,19 +27,26 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 @Api(tags = "Employee Controller")
 @Log4j2
@@ -48,6 +58,8 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
+    private final ObjectMapper objectMapper;
+
     @GetMapping
     @ApiOperation(value = "Finds all employees",
             notes = "Returns an entire list of employees",
@@ -69,6 +81,62 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/page")
+    @ApiOperation(value = "Finds a page of employees",
+            notes = "Provide the id after which the page starts (0 for the first page) and the page size",
+            response = EmployeePageDto.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The request has succeeded"),
+            @ApiResponse(code = 400, message = "Parameters are not valid"),
+            @ApiResponse(code = 401, message = "The request requires user authentication"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 500, message = "Server error")})
+    public ResponseEntity<EmployeePageDto> findEmployeePage(
+            @ApiParam(value = "Id of the last employee of the previous page")
+            @RequestParam(defaultValue = "0") @NotNull @PositiveOrZero(message = "a non-negative integer number is required")
+            Long afterId,
+            @ApiParam(value = "Number of employees on the page")
+            @RequestParam(defaultValue = "${employee.page.default-size:100}") @NotNull
+            @Positive(message = "a positive integer number is required")
+            @Max(value = 1000, message = "at most 1000 employees are allowed on a page")
+            Integer size,
+            @AuthenticationPrincipal
+            Jwt token) {
+        Map<String, Object> claims = token.getClaims();
+        if (!claims.get("role").equals("[ADMIN]")) {
+            log.warn("Access denied. Requested resource is forbidden");
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        log.info("Retrieve a page of {} employees with ids after {}", size, afterId);
+        EmployeePageDto employeePage = employeeService.findPage(afterId, size);
+        log.debug("Size of employee page is {}", employeePage.getEmployeeDtos().size());
+        return ResponseEntity.ok(employeePage);
+    }
+
+    @GetMapping("/export")
+    @ApiOperation(value = "Exports all employees",
+            notes = "Streams all employees as newline delimited JSON, one employee per line",
+            response = EmployeeDto.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The request has succeeded"),
+            @ApiResponse(code = 401, message = "The request requires user authentication"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 500, message = "Server error")})
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@AuthenticationPrincipal Jwt token) {
+        Map<String, Object> claims = token.getClaims();
+        if (!claims.get("role").equals("[ADMIN]")) {
+            log.warn("Access denied. Requested resource is forbidden");
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        log.info("Export all employees");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    long count = employeeService.streamAll(employeeDto -> writeLine(outputStream, employeeDto));
+                    log.debug("Number of exported employees is {}", count);
+                });
+    }
+
     @GetMapping("/{id}")
     @ApiOperation(value = "Finds an employee by id",
             notes = "Provide an id to find a specific employee",
@@ -200,7 +268,7 @@ public class EmployeeController {
             @ApiResponse(code = 401, message = "The request requires user authentication"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 500, message = "Server error")})
-    public ResponseEntity<Set<EventDto>> findAttendedEventsBetween(
+    public CompletableFuture<ResponseEntity<Set<EventDto>>> findAttendedEventsBetween(
             @ApiParam(value = "Id of an employee", required = true)
             @PathVariable @NotNull @Positive(message = "a positive integer number is required")
             Long id,
@@ -211,22 +279,24 @@ public class EmployeeController {
             @PathVariable @NotBlank @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$", message = "Required date format: yyyy-MM-dd")
             String thruDate,
             @AuthenticationPrincipal
-            Jwt token) throws ExecutionException, InterruptedException {
+            Jwt token) {
         Map<String, Object> claims = token.getClaims();
         if (!claims.get("role").equals("[ADMIN]") && !claims.get("id").equals(id)) {
             log.warn("Access denied. Requested resource is forbidden");
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            return CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.FORBIDDEN));
         }
         log.info("Find events attended by the employee with id {}, scheduled between {} and {}", id, fromDate, thruDate);
         if (!employeeService.existsById(id)) {
             log.warn("Employee with id {} is not found", id);
-            return ResponseEntity.notFound().build();
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
         }
         Set<Long> idWrappedForService = new HashSet<>();
         idWrappedForService.add(id);
-        Set<EventDto> events = employeeService.findAttendedEventsBetween(idWrappedForService, fromDate, thruDate);
-        log.debug("Number of events is {}", events.size());
-        return ResponseEntity.ok(events);
+        return employeeService.findAttendedEventsBetweenAsync(idWrappedForService, fromDate, thruDate)
+                .thenApply(events -> {
+                    log.debug("Number of events is {}", events.size());
+                    return ResponseEntity.ok(events);
+                });
     }
 
     @PatchMapping("/{id}")
@@ -266,4 +336,13 @@ public class EmployeeController {
         log.debug("Employee's with id {} attendance of event with id {} is cancelled (if existed)", id, eventDto.getId());
         return ResponseEntity.noContent().build();
     }
+
+    private void writeLine(OutputStream outputStream, EmployeeDto employeeDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(employeeDto));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
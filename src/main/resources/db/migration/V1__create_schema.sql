@@ -0,0 +1,54 @@
+create table if not exists country (
+    code varchar(255) not null,
+    name varchar(255),
+    primary key (code)
+);
+
+create table if not exists job_title (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+);
+
+create table if not exists office (
+    id bigint not null auto_increment,
+    name varchar(255),
+    street_address varchar(255),
+    city varchar(255),
+    country_code varchar(255),
+    primary key (id),
+    constraint fk_office_country foreign key (country_code) references country (code)
+);
+
+create table if not exists employee (
+    id bigint not null auto_increment,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    phone varchar(255),
+    job_title_id bigint,
+    office_id bigint,
+    working_start_time time,
+    working_end_time time,
+    primary key (id),
+    constraint fk_employee_job_title foreign key (job_title_id) references job_title (id),
+    constraint fk_employee_office foreign key (office_id) references office (id)
+);
+
+create table if not exists event_ (
+    id bigint not null,
+    primary key (id)
+);
+
+create table if not exists event_attended (
+    employee_id bigint not null,
+    event_id bigint not null
+);
+
+create table if not exists user_data (
+    id bigint not null,
+    email varchar(255),
+    password varchar(255),
+    role varchar(255),
+    primary key (id)
+);
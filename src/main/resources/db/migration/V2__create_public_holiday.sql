@@ -0,0 +1,7 @@
+create table public_holiday (
+    id bigint not null auto_increment,
+    country_code varchar(255),
+    holiday_date date,
+    fetched_at datetime,
+    primary key (id)
+);
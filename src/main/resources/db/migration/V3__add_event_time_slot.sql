@@ -0,0 +1,7 @@
+alter table event_ add column date date;
+
+alter table event_ add column start_time time;
+
+alter table event_ add column end_time time;
+
+alter table event_ add column time_slot_updated_at datetime;
@@ -0,0 +1,28 @@
+-- MySQL commits each statement below on its own, so a failed run can stop halfway through the rebuild of
+-- event_attended. No step drops attendance rows that are not also stored in another table. To recover, either
+-- drop event_attended_keyed while event_attended still exists or finish the two renames by hand, then run
+-- flyway repair and migrate again.
+create table event_attended_keyed (
+    event_id bigint not null,
+    employee_id bigint not null,
+    primary key (event_id, employee_id),
+    constraint fk_event_attended_event foreign key (event_id) references event_ (id),
+    constraint fk_event_attended_employee foreign key (employee_id) references employee (id)
+);
+
+insert into event_attended_keyed (event_id, employee_id)
+select distinct event_id, employee_id from event_attended;
+
+alter table event_attended rename to event_attended_unkeyed;
+
+alter table event_attended_keyed rename to event_attended;
+
+drop table event_attended_unkeyed;
+
+create index idx_event_attended_employee_event on event_attended (employee_id, event_id);
+
+create index idx_employee_office_id on employee (office_id);
+
+create index idx_employee_email on employee (email);
+
+create index idx_user_data_email on user_data (email);
@@ -0,0 +1,14 @@
+create table refresh_token (
+    id bigint not null auto_increment,
+    token_hash varchar(44) not null,
+    family_id varchar(43) not null,
+    user_id bigint not null,
+    expires_at datetime not null,
+    used boolean not null default false,
+    primary key (id),
+    constraint uk_refresh_token_hash unique (token_hash),
+    constraint fk_refresh_token_user foreign key (user_id) references user_data (id) on delete cascade
+);
+
+create index idx_refresh_token_family on refresh_token (family_id);
+create index idx_refresh_token_expires on refresh_token (expires_at);
@@ -0,0 +1,158 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.CountryEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeRow;
+import com.emansy.employeeservice.business.repository.model.EventIdEntity;
+import com.emansy.employeeservice.business.repository.model.JobTitleEntity;
+import com.emansy.employeeservice.business.repository.model.OfficeEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RepositoryTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EmployeeRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+
+    private Set<Long> employeeIds;
+
+    private Long nonAttendingEmployeeId;
+
+    @BeforeEach
+    public void init() {
+        CountryEntity countryEntity = testEntityManager.persist(new CountryEntity("LV", "Latvia"));
+        CountryEntity anotherCountryEntity = testEntityManager.persist(new CountryEntity("LT", "Lithuania"));
+        OfficeEntity officeEntity = testEntityManager.persist(
+                new OfficeEntity(null, "Riga office", "Street 1", "Riga", countryEntity));
+        OfficeEntity anotherOfficeEntity = testEntityManager.persist(
+                new OfficeEntity(null, "Vilnius office", "Street 2", "Vilnius", anotherCountryEntity));
+        JobTitleEntity jobTitleEntity = testEntityManager.persist(new JobTitleEntity(null, "Developer"));
+        JobTitleEntity anotherJobTitleEntity = testEntityManager.persist(new JobTitleEntity(null, "Manager"));
+        EventIdEntity eventIdEntity = testEntityManager.persist(
+                new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        EventIdEntity anotherEventIdEntity = testEntityManager.persist(
+                new EventIdEntity(2L, new HashSet<>(), null, null, null, null));
+        employeeIds = new HashSet<>();
+        employeeIds.add(persistEmployee(jobTitleEntity, officeEntity, eventIdEntity, anotherEventIdEntity));
+        employeeIds.add(persistEmployee(anotherJobTitleEntity, anotherOfficeEntity, eventIdEntity));
+        nonAttendingEmployeeId = persistEmployee(jobTitleEntity, anotherOfficeEntity);
+        employeeIds.add(nonAttendingEmployeeId);
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllRowsTest() {
+        List<EmployeeRow> employeeRows = employeeRepository.findAllRows();
+        assertEquals(4, employeeRows.size());
+        assertEquals(3, employeeRows.stream().map(EmployeeRow::getId).distinct().count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findIdsAfterTest() {
+        List<Long> sortedEmployeeIds = new ArrayList<>(new TreeSet<>(employeeIds));
+        List<Long> firstPage = employeeRepository.findIdsAfter(0L, PageRequest.of(0, 2));
+        assertEquals(sortedEmployeeIds.subList(0, 2), firstPage);
+        List<Long> lastPage = employeeRepository.findIdsAfter(firstPage.get(1), PageRequest.of(0, 2));
+        assertEquals(sortedEmployeeIds.subList(2, 3), lastPage);
+        assertTrue(employeeRepository.findIdsAfter(lastPage.get(0), PageRequest.of(0, 2)).isEmpty());
+        List<EmployeeRow> employeeRows = employeeRepository.findAllRowsByIdIn(firstPage);
+        assertEquals(3, employeeRows.size());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamAllRowsTest() {
+        try (Stream<EmployeeRow> employeeRows = employeeRepository.streamAllRows()) {
+            assertEquals(4, employeeRows.count());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllByIdInTest() {
+        Set<EmployeeEntity> employeeEntities = employeeRepository.findAllByIdIn(employeeIds);
+        assertEquals(3, employeeEntities.size());
+        touchAssociations(employeeEntities);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllRowsAttendingTest() {
+        List<EmployeeRow> employeeRows = employeeRepository.findAllRowsAttending(2L);
+        assertEquals(2, employeeRows.size());
+        assertTrue(employeeRows.stream().allMatch(employeeRow -> employeeRow.getId().equals(employeeRows.get(0).getId())));
+        assertEquals(3, employeeRepository.findAllRowsAttending(1L).size());
+        assertTrue(employeeRepository.findAllRowsAttending(3L).isEmpty());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllRowsNotAttendingTest() {
+        List<EmployeeRow> employeeRows = employeeRepository.findAllRowsNotAttending(1L);
+        assertEquals(1, employeeRows.size());
+        assertEquals(nonAttendingEmployeeId, employeeRows.get(0).getId());
+        assertNull(employeeRows.get(0).getEventId());
+        assertEquals("LT", employeeRows.get(0).getCountryCode());
+        assertEquals(2, employeeRepository.findAllRowsNotAttending(2L).size());
+        assertEquals(4, employeeRepository.findAllRowsNotAttending(3L).size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Long persistEmployee(JobTitleEntity jobTitleEntity, OfficeEntity officeEntity,
+                                 EventIdEntity... eventIdEntities) {
+        EmployeeEntity employeeEntity = new EmployeeEntity();
+        employeeEntity.setFirstName("First name");
+        employeeEntity.setLastName("Last name");
+        employeeEntity.setEmail("email@email.com");
+        employeeEntity.setPhone("+37100000000");
+        employeeEntity.setJobTitleEntity(jobTitleEntity);
+        employeeEntity.setOfficeEntity(officeEntity);
+        employeeEntity.setWorkingStartTime(LocalTime.parse("09:00:00"));
+        employeeEntity.setWorkingEndTime(LocalTime.parse("17:00:00"));
+        employeeEntity.setEventIdEntities(new HashSet<>(Arrays.asList(eventIdEntities)));
+        return testEntityManager.persistAndGetId(employeeEntity, Long.class);
+    }
+
+    private void touchAssociations(Iterable<EmployeeEntity> employeeEntities) {
+        employeeEntities.forEach(employeeEntity -> {
+            employeeEntity.getJobTitleEntity().getName();
+            employeeEntity.getOfficeEntity().getCountryEntity().getName();
+            employeeEntity.getEventIdEntities().forEach(EventIdEntity::getId);
+        });
+    }
+}
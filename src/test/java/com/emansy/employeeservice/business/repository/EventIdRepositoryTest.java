@@ -0,0 +1,111 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EventIdEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RepositoryTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=2")
+public class EventIdRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventIdRepository eventIdRepository;
+
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    public void init() {
+        employeeIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) employeeIds.add(testEntityManager.persistAndGetId(new EmployeeEntity(), Long.class));
+        testEntityManager.flush();
+    }
+
+    @Test
+    void insertAttendancesTest() {
+        eventIdRepository.save(new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.insertAttendances(1L, employeeIds.subList(0, 3));
+        eventIdRepository.insertAttendances(1L, employeeIds.subList(3, 5));
+        assertEquals(new HashSet<>(employeeIds), findAttendingEmployeeIds(1L));
+    }
+
+    @Test
+    void deleteAttendancesTest() {
+        eventIdRepository.save(new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.insertAttendances(1L, employeeIds);
+        eventIdRepository.deleteAttendances(1L, Arrays.asList(employeeIds.get(1), employeeIds.get(3)));
+        Set<Long> attendingEmployeeIds = findAttendingEmployeeIds(1L);
+        assertEquals(3, attendingEmployeeIds.size());
+        assertFalse(attendingEmployeeIds.contains(employeeIds.get(1)));
+        assertFalse(attendingEmployeeIds.contains(employeeIds.get(3)));
+    }
+
+    @Test
+    void deleteAllAttendancesTest() {
+        eventIdRepository.save(new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.save(new EventIdEntity(2L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.insertAttendances(1L, employeeIds);
+        eventIdRepository.insertAttendances(2L, employeeIds.subList(0, 1));
+        eventIdRepository.deleteAllAttendances(1L);
+        eventIdRepository.deleteById(1L);
+        testEntityManager.flush();
+        assertTrue(findAttendingEmployeeIds(1L).isEmpty());
+        assertEquals(1, findAttendingEmployeeIds(2L).size());
+    }
+
+    @Test
+    void forEachAttendanceTest() {
+        eventIdRepository.save(new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.save(new EventIdEntity(2L, new HashSet<>(), null, null, null, null));
+        eventIdRepository.insertAttendances(1L, employeeIds.subList(0, 2));
+        eventIdRepository.insertAttendances(2L, employeeIds.subList(1, 3));
+        Map<Long, Set<Long>> employeeIdsByEventId = new HashMap<>();
+        eventIdRepository.forEachAttendance((eventId, employeeId) ->
+                employeeIdsByEventId.computeIfAbsent(eventId, key -> new HashSet<>()).add(employeeId));
+        assertEquals(new HashSet<>(employeeIds.subList(0, 2)), employeeIdsByEventId.get(1L));
+        assertEquals(new HashSet<>(employeeIds.subList(1, 3)), employeeIdsByEventId.get(2L));
+    }
+
+    @Test
+    void insertAttendancesTestNotRewritingAttendances() {
+        EmployeeEntity employeeEntity = testEntityManager.find(EmployeeEntity.class, employeeIds.get(0));
+        EventIdEntity eventIdEntity = testEntityManager.persist(new EventIdEntity(1L, new HashSet<>(), null, null, null, null));
+        employeeEntity.setEventIdEntities(new HashSet<>(Arrays.asList(eventIdEntity)));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        eventIdEntity = eventIdRepository.findById(1L).get();
+        eventIdEntity.getEmployeeEntities().add(testEntityManager.find(EmployeeEntity.class, employeeIds.get(1)));
+        eventIdRepository.insertAttendances(1L, employeeIds.subList(1, 2));
+        testEntityManager.flush();
+        assertEquals(new HashSet<>(employeeIds.subList(0, 2)), findAttendingEmployeeIds(1L));
+    }
+
+    private Set<Long> findAttendingEmployeeIds(Long eventId) {
+        return jdbcTemplate.queryForList("select employee_id from event_attended where event_id = ?", Long.class, eventId)
+                .stream()
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,81 @@
+package com.emansy.employeeservice.business.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RepositoryTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee_db_flyway;MODE=MySQL;NON_KEYWORDS=DATE",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+public class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrateTestSchemaValidatedAgainstEntities() {
+        assertEquals(0, flyway.info().pending().length);
+        jdbcTemplate.update("insert into event_ (id) values (1)");
+        jdbcTemplate.update("insert into employee (id) values (1)");
+        jdbcTemplate.update("insert into event_attended (event_id, employee_id) values (1, 1)");
+        assertThrows(RuntimeException.class,
+                () -> jdbcTemplate.update("insert into event_attended (event_id, employee_id) values (1, 1)"));
+    }
+
+    @Test
+    void migrateTestDuplicateAttendancesMerged() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:employee_db_v1;MODE=MySQL;NON_KEYWORDS=DATE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate v1JdbcTemplate = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        v1JdbcTemplate.update("insert into event_ (id) values (1), (2)");
+        v1JdbcTemplate.update("insert into employee (id) values (1), (2)");
+        v1JdbcTemplate.update("insert into event_attended (employee_id, event_id) values (1, 1), (1, 1), (2, 1), (1, 2)");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        assertEquals(3, v1JdbcTemplate.queryForObject("select count(*) from event_attended", Integer.class));
+        assertEquals(0, v1JdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where lower(table_name) like 'event_attended_%'",
+                Integer.class));
+        v1JdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    void migrateTestBaselineSchemaMatchesMigratedSchema() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:employee_db_baseline;MODE=MySQL;NON_KEYWORDS=DATE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate baselineJdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline/schema.sql")).execute(dataSource);
+        Flyway baselineFlyway = Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).load();
+        baselineFlyway.migrate();
+        assertEquals(0, baselineFlyway.info().pending().length);
+        assertEquals(findColumns(jdbcTemplate), findColumns(baselineJdbcTemplate));
+        assertEquals(3, baselineJdbcTemplate.queryForObject("select count(*) from event_attended", Integer.class));
+        baselineJdbcTemplate.execute("drop all objects");
+    }
+
+    private Set<String> findColumns(JdbcTemplate jdbcTemplate) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select lower(table_name) || '.' || lower(column_name) || ' ' || lower(data_type) " +
+                        "from information_schema.columns " +
+                        "where table_schema = 'PUBLIC' and lower(table_name) <> 'flyway_schema_history'",
+                String.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.emansy.employeeservice.business.repository;
+
+import com.emansy.employeeservice.business.repository.model.RefreshTokenEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RepositoryTest
+public class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private Long refreshTokenId;
+
+    @BeforeEach
+    public void init() {
+        Instant now = Instant.now();
+        refreshTokenId = testEntityManager.persistAndGetId(new RefreshTokenEntity(
+                null, "hash-1", "family-1", 1L, now.plus(1, ChronoUnit.DAYS), false), Long.class);
+        testEntityManager.persist(new RefreshTokenEntity(
+                null, "hash-2", "family-1", 1L, now.minus(1, ChronoUnit.DAYS), true));
+        testEntityManager.persist(new RefreshTokenEntity(
+                null, "hash-3", "family-2", 2L, now.plus(1, ChronoUnit.DAYS), false));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void findByTokenHashTest() {
+        assertEquals(refreshTokenId, refreshTokenRepository.findByTokenHash("hash-1").get().getId());
+        assertFalse(refreshTokenRepository.findByTokenHash("hash-4").isPresent());
+    }
+
+    @Test
+    void markUsedByIdTest() {
+        assertEquals(1, refreshTokenRepository.markUsedById(refreshTokenId));
+        assertEquals(0, refreshTokenRepository.markUsedById(refreshTokenId));
+        assertTrue(refreshTokenRepository.findByTokenHash("hash-1").get().isUsed());
+    }
+
+    @Test
+    void revokeAllByFamilyIdTest() {
+        assertEquals(2, refreshTokenRepository.revokeAllByFamilyId("family-1"));
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByTokenHash("hash-3").isPresent());
+    }
+
+    @Test
+    void revokeAllByUserIdTest() {
+        assertEquals(2, refreshTokenRepository.revokeAllByUserId(1L));
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByTokenHash("hash-3").isPresent());
+    }
+
+    @Test
+    void deleteAllExpiredTest() {
+        assertEquals(1, refreshTokenRepository.deleteAllExpired(Instant.now()));
+        assertTrue(refreshTokenRepository.findByTokenHash("hash-1").isPresent());
+        assertFalse(refreshTokenRepository.findByTokenHash("hash-2").isPresent());
+    }
+}
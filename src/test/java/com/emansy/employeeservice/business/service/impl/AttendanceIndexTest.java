@@ -0,0 +1,140 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.EmployeeRepository;
+import com.emansy.employeeservice.business.repository.EventIdRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AttendanceIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EventIdRepository eventIdRepository;
+
+    private AttendanceIndex attendanceIndex;
+
+    @BeforeEach
+    public void init() {
+        attendanceIndex = new AttendanceIndex(employeeRepository, eventIdRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void loadTestPositive() {
+        load();
+        assertTrue(attendanceIndex.isLoaded());
+        assertEquals(Arrays.asList(1L, 2L), attendanceIndex.findAttendingEmployeeIds(1L));
+        assertEquals(Collections.singletonList(1L), attendanceIndex.findAttendingEmployeeIds(2L));
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(3L).isEmpty());
+        assertEquals(Collections.singletonList(3L), attendanceIndex.findNonAttendingEmployeeIds(1L));
+        assertEquals(Arrays.asList(1L, 2L, 3L), attendanceIndex.findNonAttendingEmployeeIds(3L));
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), attendanceIndex.findAttendedEventIds(Arrays.asList(1L, 3L)));
+    }
+
+    @Test
+    void loadTestNegative() {
+        when(employeeRepository.findAllIds()).thenThrow(new IllegalStateException("Database is not available"));
+        attendanceIndex.load();
+        assertFalse(attendanceIndex.isLoaded());
+    }
+
+    @Test
+    void loadTestNegativeKeepsPreviousIndex() {
+        load();
+        when(employeeRepository.findAllIds()).thenThrow(new IllegalStateException("Database is not available"));
+        attendanceIndex.load();
+        assertFalse(attendanceIndex.isLoaded());
+        assertEquals(Arrays.asList(1L, 2L), attendanceIndex.findAttendingEmployeeIds(1L));
+    }
+
+    @Test
+    void loadTestReadableAndUpdatableDuringLoad() {
+        load();
+        doAnswer(invocation -> {
+            BiConsumer<Long, Long> attendanceConsumer = invocation.getArgument(0);
+            attendanceConsumer.accept(1L, 1L);
+            assertEquals(Arrays.asList(1L, 2L), CompletableFuture
+                    .supplyAsync(() -> attendanceIndex.findAttendingEmployeeIds(1L))
+                    .get(5, TimeUnit.SECONDS));
+            CompletableFuture.runAsync(() -> attendanceIndex.addAttendances(3L, Collections.singleton(3L)))
+                    .get(5, TimeUnit.SECONDS);
+            CompletableFuture.runAsync(() -> attendanceIndex.removeAttendances(1L, Collections.singleton(1L)))
+                    .get(5, TimeUnit.SECONDS);
+            return null;
+        }).when(eventIdRepository).forEachAttendance(any());
+        attendanceIndex.load();
+        assertTrue(attendanceIndex.isLoaded());
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(1L).isEmpty());
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(2L).isEmpty());
+        assertEquals(Collections.singletonList(3L), attendanceIndex.findAttendingEmployeeIds(3L));
+    }
+
+    @Test
+    void addAttendancesTest() {
+        load();
+        attendanceIndex.addAttendances(2L, Arrays.asList(2L, 3L));
+        assertEquals(Arrays.asList(1L, 2L, 3L), attendanceIndex.findAttendingEmployeeIds(2L));
+        assertTrue(attendanceIndex.findNonAttendingEmployeeIds(2L).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), attendanceIndex.findAttendedEventIds(Collections.singleton(2L)));
+    }
+
+    @Test
+    void removeAttendancesTest() {
+        load();
+        attendanceIndex.removeAttendances(1L, Collections.singleton(1L));
+        assertEquals(Collections.singletonList(2L), attendanceIndex.findAttendingEmployeeIds(1L));
+        assertEquals(Collections.singleton(2L), attendanceIndex.findAttendedEventIds(Collections.singleton(1L)));
+    }
+
+    @Test
+    void removeEventTest() {
+        load();
+        attendanceIndex.removeEvent(1L);
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(1L).isEmpty());
+        assertTrue(attendanceIndex.findAttendedEventIds(Collections.singleton(2L)).isEmpty());
+        assertEquals(Collections.singleton(2L), attendanceIndex.findAttendedEventIds(Collections.singleton(1L)));
+    }
+
+    @Test
+    void addAndRemoveEmployeeTest() {
+        load();
+        attendanceIndex.addEmployee(4L);
+        assertEquals(Arrays.asList(3L, 4L), attendanceIndex.findNonAttendingEmployeeIds(1L));
+        attendanceIndex.removeEmployee(1L);
+        assertEquals(Collections.singletonList(2L), attendanceIndex.findAttendingEmployeeIds(1L));
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(2L).isEmpty());
+        assertEquals(Arrays.asList(2L, 3L, 4L), attendanceIndex.findNonAttendingEmployeeIds(2L));
+    }
+
+    private void load() {
+        when(employeeRepository.findAllIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            BiConsumer<Long, Long> attendanceConsumer = invocation.getArgument(0);
+            attendanceConsumer.accept(1L, 1L);
+            attendanceConsumer.accept(1L, 2L);
+            attendanceConsumer.accept(2L, 1L);
+            return null;
+        }).when(eventIdRepository).forEachAttendance(any());
+        attendanceIndex.load();
+    }
+}
@@ -0,0 +1,75 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BusyCalendarTest {
+
+    private static final long DAY = TimeSlot.encode(19_720L, 0);
+
+    @Test
+    void findFreeStartTestNoBusyTimeSlots() {
+        BusyCalendar busyCalendar = new BusyCalendar(Collections.emptyList());
+        assertEquals(at(10), busyCalendar.findFreeStart(at(10), hours(1), at(17)));
+    }
+
+    @Test
+    void findFreeStartTestOverlappingMerged() {
+        BusyCalendar busyCalendar = new BusyCalendar(Arrays.asList(slot(11, 13), slot(10, 12), slot(10.5, 11)));
+        assertEquals(at(13), busyCalendar.findFreeStart(at(10), hours(1), at(17)));
+        assertEquals(at(13), busyCalendar.findFreeStart(at(12), hours(1), at(17)));
+    }
+
+    @Test
+    void findFreeStartTestAdjacentMerged() {
+        BusyCalendar busyCalendar = new BusyCalendar(Arrays.asList(slot(10, 11), slot(11, 12)));
+        assertEquals(at(12), busyCalendar.findFreeStart(at(10), hours(0.5), at(17)));
+        assertEquals(at(9), busyCalendar.findFreeStart(at(9), hours(1), at(17)));
+    }
+
+    @Test
+    void findFreeStartTestGapOfExactDuration() {
+        BusyCalendar busyCalendar = new BusyCalendar(Arrays.asList(slot(9, 10), slot(11, 12)));
+        assertEquals(at(10), busyCalendar.findFreeStart(at(9), hours(1), at(17)));
+        assertEquals(at(12), busyCalendar.findFreeStart(at(9), hours(1.5), at(17)));
+    }
+
+    @Test
+    void findFreeStartTestStartAtEndOfBusyTimeSlot() {
+        BusyCalendar busyCalendar = new BusyCalendar(Arrays.asList(slot(9, 10), slot(12, 13)));
+        assertEquals(at(10), busyCalendar.findFreeStart(at(10), hours(2), at(17)));
+        assertEquals(at(13), busyCalendar.findFreeStart(at(11.5), hours(1), at(17)));
+    }
+
+    @Test
+    void findFreeStartTestLatestStart() {
+        assertEquals(at(16), new BusyCalendar(Collections.singletonList(slot(9, 16)))
+                .findFreeStart(at(9), hours(2), at(16)));
+        assertEquals(BusyCalendar.NO_FREE_START, new BusyCalendar(Collections.singletonList(slot(9, 16.5)))
+                .findFreeStart(at(9), hours(2), at(16)));
+    }
+
+    @Test
+    void findFreeStartTestOtherDayIgnored() {
+        BusyCalendar busyCalendar = new BusyCalendar(Arrays.asList(
+                new TimeSlot(at(10) - TimeSlot.SECONDS_PER_DAY, at(12) - TimeSlot.SECONDS_PER_DAY),
+                new TimeSlot(at(10) + TimeSlot.SECONDS_PER_DAY, at(12) + TimeSlot.SECONDS_PER_DAY)));
+        assertEquals(at(10), busyCalendar.findFreeStart(at(10), hours(2), at(16)));
+    }
+
+    private TimeSlot slot(double startHour, double endHour) {
+        return new TimeSlot(at(startHour), at(endHour));
+    }
+
+    private long at(double hour) {
+        return DAY + hours(hour);
+    }
+
+    private long hours(double hours) {
+        return (long) (hours * 3600);
+    }
+}
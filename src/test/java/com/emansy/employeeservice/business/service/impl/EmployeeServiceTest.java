@@ -5,42 +5,55 @@ import com.emansy.employeeservice.business.repository.EmployeeRepository;
 import com.emansy.employeeservice.business.repository.EventIdRepository;
 import com.emansy.employeeservice.business.repository.model.CountryEntity;
 import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeRow;
 import com.emansy.employeeservice.business.repository.model.EventIdEntity;
 import com.emansy.employeeservice.business.repository.model.JobTitleEntity;
 import com.emansy.employeeservice.business.repository.model.OfficeEntity;
-import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
+import com.emansy.employeeservice.business.service.PublicHolidayService;
 import com.emansy.employeeservice.kafka.KafkaProducer;
+import com.emansy.employeeservice.model.AttendeeIdsDto;
 import com.emansy.employeeservice.model.EmployeeDto;
+import com.emansy.employeeservice.model.EmployeePageDto;
 import com.emansy.employeeservice.model.EventDto;
 import com.emansy.employeeservice.model.JobTitleDto;
 import com.emansy.employeeservice.model.OfficeDto;
-import com.emansy.employeeservice.model.PublicHolidayDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,9 +77,10 @@ public class EmployeeServiceTest {
     private KafkaProducer kafkaProducer;
 
     @Mock
-    private PublicHolidayRestTemplate publicHolidayRestTemplate;
+    private PublicHolidayService publicHolidayService;
+
+    private AttendanceIndex attendanceIndex;
 
-    @InjectMocks
     private EmployeeServiceImpl employeeService;
 
     private EmployeeDto employeeDto;
@@ -93,13 +107,16 @@ public class EmployeeServiceTest {
 
     private Set<EventDto> eventDtos;
 
-    private final PublicHolidayDto[] publicHolidayDtos = {
-            new PublicHolidayDto("2023-12-31"),
-            new PublicHolidayDto("2024-01-01")
-    };
+    private final Set<LocalDate> publicHolidays = new HashSet<>(Arrays.asList(
+            LocalDate.parse("2023-12-31"),
+            LocalDate.parse("2024-01-01")
+    ));
 
     @BeforeEach
     public void init() {
+        attendanceIndex = new AttendanceIndex(employeeRepository, eventIdRepository, Duration.ofMinutes(5));
+        employeeService = new EmployeeServiceImpl(entityManager, employeeMapper, employeeRepository, eventIdRepository,
+                kafkaProducer, new SchedulingEngine(publicHolidayService), attendanceIndex, Duration.ofHours(1));
         employeeDto = createEmployeeDto(1L, "First name", "Last name", "email@email.com",
                 "+37100000000", "09:00:00", "17:00:00");
         anotherEmployeeDto = createEmployeeDto(2L, "First name", "Last name", "email@email.com",
@@ -124,25 +141,82 @@ public class EmployeeServiceTest {
 
     @Test
     void findAllTestPositive() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employeeEntity, anotherEmployeeEntity));
-        when(employeeMapper.entityToDto(employeeEntity)).thenReturn(employeeDto);
-        when(employeeMapper.entityToDto(anotherEmployeeEntity)).thenReturn(anotherEmployeeDto);
+        when(employeeRepository.findAllRows()).thenReturn(Arrays.asList(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 1L),
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 2L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", null)));
         List<EmployeeDto> resultList = employeeService.findAll();
         assertEquals(2, resultList.size());
         assertEquals(1L, resultList.get(0).getId());
+        assertEquals("09:00", resultList.get(0).getWorkingStartTime());
+        assertEquals("LV", resultList.get(0).getOfficeDto().getCountryDto().getCode());
+        assertEquals(createEmployeeIds(1L, 2L), resultList.get(0).getEventIds());
         assertEquals(2L, resultList.get(1).getId());
-        verify(employeeRepository, times(1)).findAll();
-        verify(employeeMapper, times(1)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(1)).entityToDto(anotherEmployeeEntity);
+        assertTrue(resultList.get(1).getEventIds().isEmpty());
+        verify(employeeRepository, times(1)).findAllRows();
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
     }
 
     @Test
     void findAllTestNegative() {
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(employeeRepository.findAllRows()).thenReturn(Collections.emptyList());
         assertTrue(employeeService.findAll().isEmpty());
-        verify(employeeRepository, times(1)).findAll();
-        verify(employeeMapper, times(0)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(0)).entityToDto(anotherEmployeeEntity);
+        verify(employeeRepository, times(1)).findAllRows();
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
+    }
+
+    @Test
+    void findPageTestPositive() {
+        when(employeeRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(1L, 2L));
+        when(employeeRepository.findAllRowsByIdIn(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 1L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", 1L)));
+        EmployeePageDto employeePage = employeeService.findPage(0L, 2);
+        assertEquals(2, employeePage.getEmployeeDtos().size());
+        assertEquals(2L, employeePage.getNextAfterId());
+        verify(employeeRepository, times(1)).findIdsAfter(0L, PageRequest.of(0, 2));
+        verify(employeeRepository, times(1)).findAllRowsByIdIn(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    void findPageTestPositiveLastPage() {
+        when(employeeRepository.findIdsAfter(1L, PageRequest.of(0, 2))).thenReturn(Collections.singletonList(2L));
+        when(employeeRepository.findAllRowsByIdIn(Collections.singletonList(2L))).thenReturn(Collections.singletonList(
+                createEmployeeRow(2L, "10:00:00", "18:00:00", null)));
+        EmployeePageDto employeePage = employeeService.findPage(1L, 2);
+        assertEquals(1, employeePage.getEmployeeDtos().size());
+        assertNull(employeePage.getNextAfterId());
+    }
+
+    @Test
+    void findPageTestNegative() {
+        when(employeeRepository.findIdsAfter(2L, PageRequest.of(0, 2))).thenReturn(Collections.emptyList());
+        EmployeePageDto employeePage = employeeService.findPage(2L, 2);
+        assertTrue(employeePage.getEmployeeDtos().isEmpty());
+        assertNull(employeePage.getNextAfterId());
+        verify(employeeRepository, times(0)).findAllRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    void streamAllTestPositive() {
+        when(employeeRepository.streamAllRows()).thenReturn(Stream.of(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 1L),
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 2L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", null)));
+        List<EmployeeDto> streamedEmployeeDtos = new ArrayList<>();
+        assertEquals(2, employeeService.streamAll(streamedEmployeeDtos::add));
+        assertEquals(2, streamedEmployeeDtos.size());
+        assertEquals(createEmployeeIds(1L, 2L), streamedEmployeeDtos.get(0).getEventIds());
+        assertEquals(2L, streamedEmployeeDtos.get(1).getId());
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
+    }
+
+    @Test
+    void streamAllTestNegative() {
+        when(employeeRepository.streamAllRows()).thenReturn(Stream.empty());
+        List<EmployeeDto> streamedEmployeeDtos = new ArrayList<>();
+        assertEquals(0, employeeService.streamAll(streamedEmployeeDtos::add));
+        assertTrue(streamedEmployeeDtos.isEmpty());
     }
 
     @Test
@@ -186,6 +260,20 @@ public class EmployeeServiceTest {
         verify(employeeMapper, times(1)).entityToDto(employeeEntity);
     }
 
+    @Test
+    void updateTestAttendancePreserved() {
+        EmployeeEntity employeeEntityMapped = createEmployeeEntity(1L, "New first name", "Last name",
+                "email@email.com", "+37100000000", "09:00:00", "17:00:00");
+        employeeEntityMapped.setEventIdEntities(new HashSet<>());
+        when(employeeMapper.dtoToEntity(employeeDto)).thenReturn(employeeEntityMapped);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employeeEntity));
+        when(employeeRepository.save(employeeEntityMapped)).thenReturn(employeeEntityMapped);
+        when(employeeMapper.entityToDto(employeeEntityMapped)).thenReturn(employeeDto);
+        assertEquals(employeeDto, employeeService.update(employeeDto));
+        assertEquals(eventIdEntities, employeeEntityMapped.getEventIdEntities());
+        verify(employeeRepository, times(1)).save(employeeEntityMapped);
+    }
+
     @Test
     void updateTestNegative() {
         when(employeeMapper.dtoToEntity(employeeDto)).thenReturn(employeeEntity);
@@ -220,46 +308,75 @@ public class EmployeeServiceTest {
 
     @Test
     void findAttendingEmployeesTestPositive() {
-        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.of(eventIdEntity));
-        when(employeeMapper.entityToDto(employeeEntity)).thenReturn(employeeDto);
-        when(employeeMapper.entityToDto(anotherEmployeeEntity)).thenReturn(anotherEmployeeDto);
+        when(employeeRepository.findAllRowsAttending(anyLong())).thenReturn(Arrays.asList(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 1L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", 1L)));
         assertEquals(2, employeeService.findAttendingEmployees(1L).size());
-        verify(eventIdRepository, times(1)).findById(anyLong());
-        verify(employeeMapper, times(1)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(1)).entityToDto(anotherEmployeeEntity);
+        verify(employeeRepository, times(1)).findAllRowsAttending(anyLong());
+        verify(eventIdRepository, times(0)).findById(anyLong());
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
     }
 
     @Test
     void findAttendingEmployeesTestNegative() {
-        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(employeeRepository.findAllRowsAttending(anyLong())).thenReturn(Collections.emptyList());
         assertTrue(employeeService.findAttendingEmployees(1L).isEmpty());
-        verify(eventIdRepository, times(1)).findById(anyLong());
-        verify(employeeMapper, times(0)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(0)).entityToDto(anotherEmployeeEntity);
+        verify(employeeRepository, times(1)).findAllRowsAttending(anyLong());
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
     }
 
     @Test
     void findNonAttendingEmployeesTestPositive() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employeeEntity, anotherEmployeeEntity));
-        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
-        when(employeeMapper.entityToDto(employeeEntity)).thenReturn(employeeDto);
-        when(employeeMapper.entityToDto(anotherEmployeeEntity)).thenReturn(anotherEmployeeDto);
+        when(employeeRepository.findAllRowsNotAttending(anyLong())).thenReturn(Arrays.asList(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 2L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", null)));
         assertEquals(2, employeeService.findNonAttendingEmployees(1L).size());
-        verify(employeeRepository, times(1)).findAll();
-        verify(eventIdRepository, times(1)).findById(anyLong());
-        verify(employeeMapper, times(1)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(1)).entityToDto(anotherEmployeeEntity);
+        verify(employeeRepository, times(1)).findAllRowsNotAttending(anyLong());
+        verify(employeeRepository, times(0)).findAllRows();
+        verify(eventIdRepository, times(0)).findById(anyLong());
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
     }
 
     @Test
     void findNonAttendingEmployeesTestNegative() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employeeEntity, anotherEmployeeEntity));
-        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.of(eventIdEntity));
+        when(employeeRepository.findAllRowsNotAttending(anyLong())).thenReturn(Collections.emptyList());
         assertTrue(employeeService.findNonAttendingEmployees(1L).isEmpty());
-        verify(employeeRepository, times(1)).findAll();
-        verify(eventIdRepository, times(1)).findById(anyLong());
-        verify(employeeMapper, times(0)).entityToDto(employeeEntity);
-        verify(employeeMapper, times(0)).entityToDto(anotherEmployeeEntity);
+        verify(employeeRepository, times(1)).findAllRowsNotAttending(anyLong());
+        verify(employeeRepository, times(0)).findAllRows();
+        verify(eventIdRepository, times(0)).findById(anyLong());
+        verify(employeeMapper, times(0)).entityToDto(any(EmployeeEntity.class));
+    }
+
+    @Test
+    void findAttendingEmployeesTestIndexed() {
+        loadAttendanceIndex();
+        when(employeeRepository.findAllRowsByIdIn(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(
+                createEmployeeRow(1L, "09:00:00", "17:00:00", 1L),
+                createEmployeeRow(2L, "10:00:00", "18:00:00", 1L)));
+        assertEquals(2, employeeService.findAttendingEmployees(1L).size());
+        assertTrue(employeeService.findAttendingEmployees(3L).isEmpty());
+        verify(employeeRepository, times(1)).findAllRowsByIdIn(anyCollection());
+        verify(employeeRepository, times(0)).findAllRowsAttending(anyLong());
+    }
+
+    @Test
+    void findNonAttendingEmployeesTestIndexed() {
+        loadAttendanceIndex();
+        when(employeeRepository.findAllRowsByIdIn(Collections.singletonList(3L))).thenReturn(Collections.singletonList(
+                createEmployeeRow(3L, "09:00:00", "17:00:00", null)));
+        Set<EmployeeDto> employeeDtos = employeeService.findNonAttendingEmployees(1L);
+        assertEquals(1, employeeDtos.size());
+        assertEquals(3L, employeeDtos.iterator().next().getId());
+        verify(employeeRepository, times(0)).findAllRowsNotAttending(anyLong());
+    }
+
+    @Test
+    void findAttendedEventsBetweenTestIndexed() throws ExecutionException, InterruptedException {
+        loadAttendanceIndex();
+        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
+        assertEquals(2, employeeService.findAttendedEventsBetween(employeeIds, "2023-03-21", "").size());
+        verify(kafkaProducer, times(1)).requestAndReceiveEvents(createEventIds(1L, 2L), "2023-03-21", "");
+        verify(employeeRepository, times(0)).findAllByIdIn(anySet());
     }
 
     @Test
@@ -283,27 +400,47 @@ public class EmployeeServiceTest {
         verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
     }
 
+    @Test
+    void findAttendedEventsBetweenAsyncTestPositive() throws ExecutionException, InterruptedException {
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(kafkaProducer.requestEvents(anySet(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(eventDtos));
+        assertEquals(2, employeeService.findAttendedEventsBetweenAsync(employeeIds, "2023-03-21", "").get().size());
+        verify(employeeRepository, times(1)).findAllByIdIn(anySet());
+        verify(kafkaProducer, times(1)).requestEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+    }
+
+    @Test
+    void findAttendedEventsBetweenAsyncTestNegative() throws ExecutionException, InterruptedException {
+        employeeEntity.setEventIdEntities(Collections.emptySet());
+        anotherEmployeeEntity.setEventIdEntities(Collections.emptySet());
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        assertTrue(employeeService.findAttendedEventsBetweenAsync(employeeIds, "2023-03-21", "").get().isEmpty());
+        verify(kafkaProducer, times(0)).requestEvents(anySet(), anyString(), anyString());
+    }
+
     @Test
     void attendEventTestPositive() throws ExecutionException, InterruptedException {
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
         when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
         when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(1L, new HashSet<>()));
         when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
-        when(publicHolidayRestTemplate.getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class)).thenReturn(publicHolidayDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
         EventDto eventDtoRequested = createEventDto(
                 3L, "Title", "Details", "2023-12-29", "13:00:00", "15:00:00");
         EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, eventDtoRequested);
         assertEquals(eventDtoRequested.getDate(), eventDtoScheduled.getDate());
         assertEquals(eventDtoRequested.getStartTime(), eventDtoScheduled.getStartTime());
         assertEquals(eventDtoRequested.getEndTime(), eventDtoScheduled.getEndTime());
-        verify(employeeRepository, times(2)).findAllByIdIn(anySet());
+        verify(employeeRepository, times(1)).findAllByIdIn(anySet());
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(eventIdRepository, times(1)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(1)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(1)).findPublicHolidays(Collections.singleton("LV"));
         verify(kafkaProducer, times(1)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(1)).insertAttendances(3L, createEmployeeIds(1L, 2L));
+        assertEquals(Arrays.asList(1L, 2L), attendanceIndex.findAttendingEmployeeIds(3L));
     }
 
     @Test
@@ -319,8 +456,7 @@ public class EmployeeServiceTest {
         verify(eventIdRepository, times(0)).findById(anyLong());
         verify(eventIdRepository, times(0)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(0)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(0)).findPublicHolidays(anySet());
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
     }
 
@@ -338,88 +474,164 @@ public class EmployeeServiceTest {
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(eventIdRepository, times(0)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(0)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(0)).findPublicHolidays(anySet());
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(0)).insertAttendances(anyLong(), anyCollection());
     }
 
     @Test
     void attendEventTestShortenEvent() throws ExecutionException, InterruptedException {
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
         when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
-        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(new EventIdEntity(1L, new HashSet<>()));
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(1L, new HashSet<>()));
         when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
-        when(publicHolidayRestTemplate.getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class)).thenReturn(publicHolidayDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
         EventDto eventDtoRequested = createEventDto(
                 3L, "Title", "Details", "2023-12-28", "10:00:00", "18:00:00");
         EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, eventDtoRequested);
         assertEquals(eventDtoRequested.getDate(), eventDtoScheduled.getDate());
         assertEquals(eventDtoRequested.getStartTime(), eventDtoScheduled.getStartTime());
         assertEquals("17:00:00", eventDtoScheduled.getEndTime());
-        verify(employeeRepository, times(2)).findAllByIdIn(anySet());
+        verify(employeeRepository, times(1)).findAllByIdIn(anySet());
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(eventIdRepository, times(1)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(1)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(1)).findPublicHolidays(Collections.singleton("LV"));
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(0)).insertAttendances(anyLong(), anyCollection());
     }
 
     @Test
     void attendEventTestRescheduleToSameDayLater() throws ExecutionException, InterruptedException {
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
         when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
-        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(new EventIdEntity(1L, new HashSet<>()));
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(1L, new HashSet<>()));
         when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
-        when(publicHolidayRestTemplate.getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class)).thenReturn(publicHolidayDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
         EventDto eventDtoRequested = createEventDto(
                 3L, "Title", "Details", "2023-12-29", "11:00:00", "13:00:00");
         EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, eventDtoRequested);
         assertEquals(eventDtoRequested.getDate(), eventDtoScheduled.getDate());
         assertEquals("13:00:00", eventDtoScheduled.getStartTime());
         assertEquals("15:00:00", eventDtoScheduled.getEndTime());
-        verify(employeeRepository, times(2)).findAllByIdIn(anySet());
+        verify(employeeRepository, times(1)).findAllByIdIn(anySet());
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(eventIdRepository, times(1)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(1)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(1)).findPublicHolidays(Collections.singleton("LV"));
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(0)).insertAttendances(anyLong(), anyCollection());
     }
 
     @Test
     void attendEventTestRescheduleToSameDayLaterThenToNextMorning() throws ExecutionException, InterruptedException {
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
         when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
-        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(new EventIdEntity(1L, new HashSet<>()));
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(1L, new HashSet<>()));
         when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
-        when(publicHolidayRestTemplate.getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class)).thenReturn(publicHolidayDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
         EventDto eventDtoRequested = createEventDto(
                 3L, "Title", "Details", "2023-12-29", "15:00:00", "17:00:00");
         EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, eventDtoRequested);
         assertEquals("2024-01-02", eventDtoScheduled.getDate());
         assertEquals("10:00:00", eventDtoScheduled.getStartTime());
         assertEquals("12:00:00", eventDtoScheduled.getEndTime());
-        verify(employeeRepository, times(2)).findAllByIdIn(anySet());
+        verify(employeeRepository, times(1)).findAllByIdIn(anySet());
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(eventIdRepository, times(1)).save(any(EventIdEntity.class));
         verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
-        verify(publicHolidayRestTemplate, times(1)).getForObject(
-                "https://date.nager.at/api/v3/NextPublicHolidays/LV", PublicHolidayDto[].class);
+        verify(publicHolidayService, times(1)).findPublicHolidays(Collections.singleton("LV"));
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(0)).insertAttendances(anyLong(), anyCollection());
+    }
+
+    @Test
+    void attendEventTestBusyTimeSlotsFoundLocally() throws ExecutionException, InterruptedException {
+        setTimeSlot(eventIdEntity, eventDto);
+        setTimeSlot(anotherEventIdEntity, anotherEventDto);
+        EventIdEntity attendedEventIdEntity = createEventIdEntity(3L, new HashSet<>());
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(attendedEventIdEntity);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        EventDto eventDtoRequested = createEventDto(
+                3L, "Title", "Details", "2023-12-29", "11:00:00", "13:00:00");
+        EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, eventDtoRequested);
+        assertEquals("13:00:00", eventDtoScheduled.getStartTime());
+        assertEquals("15:00:00", eventDtoScheduled.getEndTime());
+        assertEquals(eventDtoScheduled, employeeService.attendEvent(employeeIds, eventDtoScheduled));
+        assertEquals(LocalDate.parse("2023-12-29"), attendedEventIdEntity.getDate());
+        assertEquals(LocalTime.parse("13:00:00"), attendedEventIdEntity.getStartTime());
+        assertEquals(LocalTime.parse("15:00:00"), attendedEventIdEntity.getEndTime());
+        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(1)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(1)).insertAttendances(3L, createEmployeeIds(1L, 2L));
+    }
+
+    @Test
+    void attendEventTestBusyTimeSlotsStoredFromEventService() throws ExecutionException, InterruptedException {
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(3L, new HashSet<>()));
+        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        employeeService.attendEvent(employeeIds, createEventDto(
+                3L, "Title", "Details", "2023-12-29", "11:00:00", "13:00:00"));
+        assertEquals(LocalDate.parse("2023-12-29"), eventIdEntity.getDate());
+        assertEquals(LocalTime.parse("12:00:00"), eventIdEntity.getStartTime());
+        assertEquals(LocalTime.parse("16:00:00"), anotherEventIdEntity.getEndTime());
+        verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+    }
+
+    @Test
+    void attendEventTestStaleBusyTimeSlotsRequestedFromEventService() throws ExecutionException, InterruptedException {
+        setTimeSlot(eventIdEntity, createEventDto(
+                1L, "Title", "Details", "2023-12-29", "09:00:00", "10:00:00"));
+        setTimeSlot(anotherEventIdEntity, anotherEventDto);
+        eventIdEntity.setTimeSlotUpdatedAt(Instant.now().minus(Duration.ofDays(1)));
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(3L, new HashSet<>()));
+        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString()))
+                .thenReturn(Collections.singleton(eventDto));
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        EventDto eventDtoScheduled = employeeService.attendEvent(employeeIds, createEventDto(
+                3L, "Title", "Details", "2023-12-29", "11:00:00", "13:00:00"));
+        assertEquals("13:00:00", eventDtoScheduled.getStartTime());
+        assertEquals(LocalTime.parse("12:00:00"), eventIdEntity.getStartTime());
+        verify(kafkaProducer, times(1)).requestAndReceiveEvents(Collections.singleton(1L), String.valueOf(LocalDate.now()), "");
+    }
+
+    @Test
+    void updateEventTestPositive() {
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.of(eventIdEntity));
+        employeeService.updateEvent(eventDto);
+        assertEquals(LocalDate.parse("2023-12-29"), eventIdEntity.getDate());
+        assertEquals(LocalTime.parse("12:00:00"), eventIdEntity.getStartTime());
+        assertEquals(LocalTime.parse("13:00:00"), eventIdEntity.getEndTime());
+        assertNotNull(eventIdEntity.getTimeSlotUpdatedAt());
+        verify(eventIdRepository, times(1)).findById(anyLong());
+    }
+
+    @Test
+    void updateEventTestNegative() {
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        employeeService.updateEvent(eventDto);
+        verify(eventIdRepository, times(1)).findById(anyLong());
+        verify(eventIdRepository, times(0)).save(any(EventIdEntity.class));
     }
 
     @Test
     void unattendEventTestPositive() {
+        loadAttendanceIndex();
         when(eventIdRepository.findById(anyLong())).thenReturn(Optional.of(eventIdEntity));
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
         assertEquals(eventDto, employeeService.unattendEvent(employeeIds, eventDto));
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(employeeRepository, times(1)).findAllByIdIn(anySet());
         verify(kafkaProducer, times(1)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(1)).deleteAttendances(1L, createEmployeeIds(1L, 2L));
+        assertTrue(attendanceIndex.findAttendingEmployeeIds(1L).isEmpty());
     }
 
     @Test
@@ -449,6 +661,7 @@ public class EmployeeServiceTest {
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(0)).deleteAttendances(anyLong(), anyCollection());
     }
 
     @Test
@@ -458,6 +671,7 @@ public class EmployeeServiceTest {
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(kafkaProducer, times(1)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
         verify(eventIdRepository, times(1)).deleteById(anyLong());
+        verify(eventIdRepository, times(1)).deleteAllAttendances(1L);
     }
 
     @Test
@@ -479,6 +693,129 @@ public class EmployeeServiceTest {
         verify(kafkaProducer, times(0)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
     }
 
+    @Test
+    void handleAttendanceRequestsTestGrouped() throws ExecutionException, InterruptedException {
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.of(eventIdEntity));
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        AttendeeIdsDto attendeeIdsDto = new AttendeeIdsDto(false, createEmployeeIds(1L, 2L), eventDto);
+        List<EventDto> replies = employeeService.handleAttendanceRequests(Arrays.asList(attendeeIdsDto,
+                new AttendeeIdsDto(false, createEmployeeIds(1L, 2L), createEventDto(
+                        1L, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00"))));
+        assertEquals(Arrays.asList(eventDto, eventDto), replies);
+        assertEquals(createEmployeeIds(1L, 2L), attendeeIdsDto.getEmployeeIds());
+        verify(eventIdRepository, times(1)).findById(anyLong());
+        verify(kafkaProducer, times(1)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+        verify(eventIdRepository, times(1)).deleteAttendances(1L, createEmployeeIds(1L, 2L));
+    }
+
+    @Test
+    void handleAttendanceRequestsTestNotGroupedAcrossOtherRequests() throws ExecutionException, InterruptedException {
+        when(eventIdRepository.findById(1L)).thenReturn(Optional.of(eventIdEntity));
+        when(eventIdRepository.findById(2L)).thenReturn(Optional.of(anotherEventIdEntity));
+        List<EventDto> replies = employeeService.handleAttendanceRequests(Arrays.asList(
+                new AttendeeIdsDto(false, Collections.emptySet(), eventDto),
+                new AttendeeIdsDto(false, Collections.emptySet(), anotherEventDto),
+                new AttendeeIdsDto(false, createEmployeeIds(1L, 2L), eventDto),
+                new AttendeeIdsDto(false, Collections.emptySet(), eventDto)));
+        assertEquals(Arrays.asList(eventDto, anotherEventDto, eventDto, eventDto), replies);
+        verify(eventIdRepository, times(4)).findById(anyLong());
+        verify(eventIdRepository, times(2)).deleteById(1L);
+        verify(eventIdRepository, times(1)).deleteById(2L);
+    }
+
+    @Test
+    void handleAttendanceRequestsTestRequestNotModified() throws ExecutionException, InterruptedException {
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenReturn(createEventIdEntity(3L, new HashSet<>()));
+        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        EventDto eventDtoRequested = createEventDto(
+                3L, "Title", "Details", "2023-12-29", "11:00:00", "13:00:00");
+        List<EventDto> replies = employeeService.handleAttendanceRequests(
+                Collections.singletonList(new AttendeeIdsDto(true, createEmployeeIds(1L, 2L), eventDtoRequested)));
+        assertEquals("13:00:00", replies.get(0).getStartTime());
+        assertEquals("11:00:00", eventDtoRequested.getStartTime());
+        assertEquals("13:00:00", eventDtoRequested.getEndTime());
+    }
+
+    @Test
+    void handleAttendanceRequestsTestEventsRequestedOncePerBatch() throws ExecutionException, InterruptedException {
+        when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        List<EventDto> replies = employeeService.handleAttendanceRequests(Arrays.asList(
+                new AttendeeIdsDto(true, createEmployeeIds(1L, 2L), createEventDto(
+                        3L, "Title", "Details", "2023-12-29", "13:00:00", "15:00:00")),
+                new AttendeeIdsDto(true, createEmployeeIds(1L, 2L), createEventDto(
+                        4L, "Title", "Details", "2023-12-28", "10:00:00", "11:00:00"))));
+        assertEquals("13:00:00", replies.get(0).getStartTime());
+        assertEquals("10:00:00", replies.get(1).getStartTime());
+        verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(2)).sendAttendanceNotification(anyBoolean(), anySet(), any(EventDto.class));
+    }
+
+    @Test
+    void handleAttendanceRequestsTestOverlappingEventAcceptedEarlierInBatch()
+            throws ExecutionException, InterruptedException {
+        employeeEntity.setEventIdEntities(new HashSet<>());
+        when(employeeRepository.findAllByIdIn(anySet()))
+                .thenAnswer(invocation -> new HashSet<>(Collections.singleton(employeeEntity)));
+        when(eventIdRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        List<EventDto> replies = employeeService.handleAttendanceRequests(Arrays.asList(
+                new AttendeeIdsDto(true, Collections.singleton(1L), createEventDto(
+                        3L, "Title", "Details", "2023-12-29", "13:00:00", "15:00:00")),
+                new AttendeeIdsDto(true, Collections.singleton(1L), createEventDto(
+                        4L, "Title", "Details", "2023-12-29", "14:00:00", "15:00:00"))));
+        assertEquals("13:00:00", replies.get(0).getStartTime());
+        assertEquals("15:00:00", replies.get(1).getStartTime());
+        verify(eventIdRepository, times(1)).insertAttendances(anyLong(), anyCollection());
+        verify(eventIdRepository, times(1)).insertAttendances(3L, Collections.singleton(1L));
+        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+    }
+
+    @Test
+    void handleAttendanceRequestsTestEventCancelledEarlierInBatchNotBusy()
+            throws ExecutionException, InterruptedException {
+        EventIdEntity attendedEventIdEntity =
+                createEventIdEntity(1L, new HashSet<>(Collections.singleton(employeeEntity)));
+        setTimeSlot(attendedEventIdEntity, eventDto);
+        employeeEntity.setEventIdEntities(new HashSet<>(Collections.singleton(attendedEventIdEntity)));
+        when(employeeRepository.findAllByIdIn(anySet()))
+                .thenAnswer(invocation -> new HashSet<>(Collections.singleton(employeeEntity)));
+        when(eventIdRepository.findById(1L)).thenReturn(Optional.of(attendedEventIdEntity));
+        when(eventIdRepository.findById(3L)).thenReturn(Optional.empty());
+        when(eventIdRepository.save(any(EventIdEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(publicHolidayService.findPublicHolidays(Collections.singleton("LV"))).thenReturn(publicHolidays);
+        List<EventDto> replies = employeeService.handleAttendanceRequests(Arrays.asList(
+                new AttendeeIdsDto(false, Collections.singleton(1L), eventDto),
+                new AttendeeIdsDto(true, Collections.singleton(1L), createEventDto(
+                        3L, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00"))));
+        assertEquals("12:00:00", replies.get(1).getStartTime());
+        verify(eventIdRepository, times(1)).deleteAttendances(1L, Collections.singleton(1L));
+        verify(eventIdRepository, times(1)).insertAttendances(3L, Collections.singleton(1L));
+    }
+
+    private void loadAttendanceIndex() {
+        when(employeeRepository.findAllIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            BiConsumer<Long, Long> attendanceConsumer = invocation.getArgument(0);
+            attendanceConsumer.accept(1L, 1L);
+            attendanceConsumer.accept(1L, 2L);
+            attendanceConsumer.accept(2L, 1L);
+            return null;
+        }).when(eventIdRepository).forEachAttendance(any());
+        attendanceIndex.load();
+    }
+
+    private Set<Long> createEventIds(Long... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
     private EmployeeDto createEmployeeDto(Long id, String firstName, String lastName, String email,
                                           String phone, String workingStartTime, String workingEndTime) {
         EmployeeDto employeeDto = new EmployeeDto();
@@ -513,6 +850,12 @@ public class EmployeeServiceTest {
         return employeeEntity;
     }
 
+    private EmployeeRow createEmployeeRow(Long id, String workingStartTime, String workingEndTime, Long eventId) {
+        return new EmployeeRow(id, "First name", "Last name", "email@email.com", "+37100000000",
+                1L, "Developer", 1L, "Riga office", "Street 1", "Riga", "LV", "Latvia",
+                LocalTime.parse(workingStartTime), LocalTime.parse(workingEndTime), eventId);
+    }
+
     private Set<EmployeeEntity> createEmployeeEntities(EmployeeEntity employeeEntity, EmployeeEntity anotherEmployeeEntity) {
         Set<EmployeeEntity> employeeEntities = new HashSet<>();
         employeeEntities.add(employeeEntity);
@@ -527,6 +870,13 @@ public class EmployeeServiceTest {
         return eventIdEntity;
     }
 
+    private void setTimeSlot(EventIdEntity eventIdEntity, EventDto eventDto) {
+        eventIdEntity.setDate(LocalDate.parse(eventDto.getDate()));
+        eventIdEntity.setStartTime(LocalTime.parse(eventDto.getStartTime()));
+        eventIdEntity.setEndTime(LocalTime.parse(eventDto.getEndTime()));
+        eventIdEntity.setTimeSlotUpdatedAt(Instant.now());
+    }
+
     private Set<EventIdEntity> createEventIdEntities(EventIdEntity eventIdEntity, EventIdEntity anotherEventIdEntity) {
         Set<EventIdEntity> eventIdEntities = new HashSet<>();
         eventIdEntities.add(eventIdEntity);
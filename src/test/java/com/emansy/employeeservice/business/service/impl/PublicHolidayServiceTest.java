@@ -0,0 +1,251 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.CountryRepository;
+import com.emansy.employeeservice.business.repository.PublicHolidayRepository;
+import com.emansy.employeeservice.business.repository.model.CountryEntity;
+import com.emansy.employeeservice.business.repository.model.PublicHolidayEntity;
+import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PublicHolidayServiceTest {
+
+    private static final String RESPONSE_BODY = "[{\"date\":\"2023-12-31\"},{\"date\":\"2024-01-01\"}]";
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final Semaphore receivedRequests = new Semaphore(0);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-12-01T00:00:00Z"));
+
+    private volatile int responseStatus = 200;
+
+    private volatile CountDownLatch responseReleased = new CountDownLatch(0);
+
+    private volatile CountDownLatch concurrentRequestsArrived = new CountDownLatch(0);
+
+    private HttpServer httpServer;
+
+    private PublicHolidayRepository publicHolidayRepository;
+
+    private CountryRepository countryRepository;
+
+    private PublicHolidayServiceImpl publicHolidayService;
+
+    @BeforeEach
+    public void init() throws IOException {
+        publicHolidayRepository = mock(PublicHolidayRepository.class);
+        countryRepository = mock(CountryRepository.class);
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.setExecutor(Executors.newCachedThreadPool());
+        httpServer.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            receivedRequests.release();
+            try {
+                concurrentRequestsArrived.countDown();
+                concurrentRequestsArrived.await(5, TimeUnit.SECONDS);
+                responseReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        httpServer.start();
+    }
+
+    @AfterEach
+    public void destroy() {
+        if (publicHolidayService != null) publicHolidayService.shutdown();
+        responseReleased.countDown();
+        httpServer.stop(0);
+    }
+
+    @Test
+    void findPublicHolidaysTestCached() {
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        Set<LocalDate> publicHolidays = publicHolidayService.findPublicHolidays(Collections.singleton("LV"));
+        assertTrue(publicHolidays.contains(LocalDate.parse("2023-12-31")));
+        assertTrue(publicHolidays.contains(LocalDate.parse("2024-01-01")));
+        assertEquals(1, requestCount.get());
+        verify(publicHolidayRepository).replaceAllByCountryCode(eq("LV"), eq(publicHolidays), eq(clock.instant()));
+    }
+
+    @Test
+    void findPublicHolidaysTestLoadedFromSnapshot() {
+        when(countryRepository.findAll()).thenReturn(Collections.singletonList(new CountryEntity("LV", "Latvia")));
+        when(publicHolidayRepository.findAll()).thenReturn(Arrays.asList(
+                new PublicHolidayEntity(1L, "LV", LocalDate.parse("2023-12-31"), clock.instant()),
+                new PublicHolidayEntity(2L, "LV", LocalDate.parse("2024-01-01"), clock.instant())));
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        publicHolidayService.loadSnapshot();
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        assertEquals(0, requestCount.get());
+    }
+
+    @Test
+    void findPublicHolidaysTestMissingSnapshotFetchedOnStartup() {
+        when(countryRepository.findAll()).thenReturn(Collections.singletonList(new CountryEntity("LV", "Latvia")));
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        publicHolidayService.loadSnapshot();
+        verify(publicHolidayRepository, timeout(5000)).replaceAllByCountryCode(eq("LV"), anySet(), any(Instant.class));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void findPublicHolidaysTestSnapshotWhenFetchFails() {
+        responseStatus = 500;
+        when(publicHolidayRepository.findAllByCountryCode("LV")).thenReturn(Collections.singletonList(
+                new PublicHolidayEntity(1L, "LV", LocalDate.parse("2024-01-01"), clock.instant())));
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        assertEquals(Collections.singleton(LocalDate.parse("2024-01-01")),
+                publicHolidayService.findPublicHolidays(Collections.singleton("LV")));
+    }
+
+    @Test
+    void findPublicHolidaysTestRefreshedInBackground() throws InterruptedException {
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofHours(1).minusMillis(100),
+                Duration.ofSeconds(5));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        assertTrue(receivedRequests.tryAcquire(2, 5, TimeUnit.SECONDS));
+        verify(publicHolidayRepository, timeout(5000).atLeast(2)).replaceAllByCountryCode(eq("LV"), anySet(), any(Instant.class));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+    }
+
+    @Test
+    void findPublicHolidaysTestStaleWhenRefreshFails() throws InterruptedException {
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        responseStatus = 500;
+        clock.advance(Duration.ofHours(2));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        assertTrue(receivedRequests.tryAcquire(2, 5, TimeUnit.SECONDS));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+    }
+
+    @Test
+    void findPublicHolidaysTestRefreshedOnceWhenStale() throws InterruptedException {
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        responseReleased = new CountDownLatch(1);
+        clock.advance(Duration.ofHours(2));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        }
+        assertTrue(receivedRequests.tryAcquire(2, 5, TimeUnit.SECONDS));
+        responseReleased.countDown();
+        verify(publicHolidayRepository, timeout(5000).times(2)).replaceAllByCountryCode(eq("LV"), anySet(), any(Instant.class));
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void findPublicHolidaysTestNegativeNoCachedDates() {
+        responseStatus = 500;
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        assertThrows(HttpServerErrorException.class,
+                () -> publicHolidayService.findPublicHolidays(Collections.singleton("LV")));
+        assertThrows(HttpServerErrorException.class,
+                () -> publicHolidayService.findPublicHolidays(Collections.singleton("LV")));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void findPublicHolidaysTestFetchedConcurrently() {
+        concurrentRequestsArrived = new CountDownLatch(3);
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofSeconds(10));
+        assertEquals(2, publicHolidayService.findPublicHolidays(new HashSet<>(Arrays.asList("LV", "LT", "EE"))).size());
+        assertEquals(0, concurrentRequestsArrived.getCount());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void findPublicHolidaysTestNegativeTimeout() {
+        responseReleased = new CountDownLatch(1);
+        publicHolidayService = createPublicHolidayService(Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofMillis(100));
+        assertThrows(HttpServerErrorException.class,
+                () -> publicHolidayService.findPublicHolidays(Collections.singleton("LV")));
+        responseReleased.countDown();
+        verify(publicHolidayRepository, timeout(5000)).replaceAllByCountryCode(eq("LV"), anySet(), any(Instant.class));
+        assertEquals(2, publicHolidayService.findPublicHolidays(Collections.singleton("LV")).size());
+        assertEquals(1, requestCount.get());
+    }
+
+    private PublicHolidayServiceImpl createPublicHolidayService(Duration timeToLive, Duration refreshAhead,
+                                                                Duration fetchTimeout) {
+        return new PublicHolidayServiceImpl(
+                new PublicHolidayRestTemplate(5, Duration.ofSeconds(1), Duration.ofSeconds(10)),
+                publicHolidayRepository,
+                countryRepository,
+                clock,
+                "http://localhost:" + httpServer.getAddress().getPort() + "/",
+                timeToLive, refreshAhead, refreshAhead, fetchTimeout, 5);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.business.repository.model.CountryEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.OfficeEntity;
+import com.emansy.employeeservice.business.service.PublicHolidayService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulingEngineTest {
+
+    @Mock
+    private PublicHolidayService publicHolidayService;
+
+    @InjectMocks
+    private SchedulingEngine schedulingEngine;
+
+    private Set<EmployeeEntity> employeeEntities;
+
+    @BeforeEach
+    public void init() {
+        EmployeeEntity employeeEntity = new EmployeeEntity();
+        employeeEntity.setWorkingStartTime(LocalTime.parse("09:00:00"));
+        employeeEntity.setWorkingEndTime(LocalTime.parse("18:00:00"));
+        employeeEntity.setOfficeEntity(new OfficeEntity(1L, "Riga office", "Street 1", "Riga",
+                new CountryEntity("LV", "Latvia")));
+        employeeEntities = new HashSet<>(Collections.singleton(employeeEntity));
+    }
+
+    @Test
+    void findTimeSlotForEventTestWeekdays() {
+        when(publicHolidayService.findPublicHolidays(anySet())).thenReturn(Collections.emptySet());
+        for (LocalDate date = LocalDate.parse("1969-12-22"); date.isBefore(LocalDate.parse("1970-01-12")); date = date.plusDays(1)) {
+            TimeSlot timeSlot = schedulingEngine.findTimeSlotForEvent(employeeEntities, Collections.emptyList(),
+                    slot(date, "10:00:00", "11:00:00"));
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            LocalDate expectedDate = weekend ? date.with(TemporalAdjusters.next(DayOfWeek.MONDAY)) : date;
+            assertEquals(expectedDate, timeSlot.getDate(), "Requested date " + date);
+            assertEquals(LocalTime.parse(weekend ? "09:00:00" : "10:00:00"), timeSlot.getStartTime());
+        }
+    }
+
+    @Test
+    void findTimeSlotForEventTestEndOfFridayMovesToMonday() {
+        when(publicHolidayService.findPublicHolidays(anySet())).thenReturn(Collections.emptySet());
+        LocalDate friday = LocalDate.parse("2023-12-29");
+        TimeSlot timeSlot = schedulingEngine.findTimeSlotForEvent(employeeEntities,
+                Collections.singletonList(slot(friday, "16:00:00", "17:30:00")), slot(friday, "16:30:00", "17:30:00"));
+        assertEquals(slot(LocalDate.parse("2024-01-01"), "09:00:00", "10:00:00"), timeSlot);
+    }
+
+    @Test
+    void findTimeSlotForEventTestLatestStartOfDay() {
+        when(publicHolidayService.findPublicHolidays(anySet())).thenReturn(Collections.emptySet());
+        LocalDate friday = LocalDate.parse("2023-12-29");
+        TimeSlot timeSlot = schedulingEngine.findTimeSlotForEvent(employeeEntities,
+                Collections.singletonList(slot(friday, "16:00:00", "17:00:00")), slot(friday, "16:30:00", "17:30:00"));
+        assertEquals(slot(friday, "17:00:00", "18:00:00"), timeSlot);
+    }
+
+    @Test
+    void findTimeSlotForEventTestPublicHolidaySkipped() {
+        when(publicHolidayService.findPublicHolidays(anySet()))
+                .thenReturn(new HashSet<>(Collections.singleton(LocalDate.parse("2024-01-01"))));
+        TimeSlot timeSlot = schedulingEngine.findTimeSlotForEvent(employeeEntities, Collections.emptyList(),
+                slot(LocalDate.parse("2023-12-30"), "10:00:00", "11:00:00"));
+        assertEquals(slot(LocalDate.parse("2024-01-02"), "09:00:00", "10:00:00"), timeSlot);
+    }
+
+    private TimeSlot slot(LocalDate date, String startTime, String endTime) {
+        return new TimeSlot(TimeSlot.encode(date, LocalTime.parse(startTime)), TimeSlot.encode(date, LocalTime.parse(endTime)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.emansy.employeeservice.business.service.impl;
+
+import com.emansy.employeeservice.model.EventDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TimeSlotTest {
+
+    @Test
+    void encodeTest() {
+        assertEquals(0L, TimeSlot.encode(LocalDate.parse("1970-01-01"), LocalTime.MIDNIGHT));
+        assertEquals(86_400L, TimeSlot.encode(LocalDate.parse("1970-01-02"), LocalTime.MIDNIGHT));
+        assertEquals(LocalDate.parse("2023-12-29").toEpochDay() * 86_400 + 43_200,
+                TimeSlot.encode(LocalDate.parse("2023-12-29"), LocalTime.parse("12:00:00")));
+    }
+
+    @Test
+    void encodeTestEndOfDay() {
+        LocalDate date = LocalDate.parse("2023-12-31");
+        long lastSecond = TimeSlot.encode(date, LocalTime.parse("23:59:59"));
+        assertEquals(TimeSlot.encode(date.plusDays(1), LocalTime.MIDNIGHT), lastSecond + 1);
+        assertEquals(date.toEpochDay(), TimeSlot.epochDayOf(lastSecond));
+        assertEquals(date.toEpochDay() + 1, TimeSlot.epochDayOf(lastSecond + 1));
+    }
+
+    @Test
+    void encodeTestBeforeEpoch() {
+        long encodedTime = TimeSlot.encode(LocalDate.parse("1969-12-31"), LocalTime.parse("23:59:59"));
+        assertEquals(-1L, encodedTime);
+        assertEquals(-1L, TimeSlot.epochDayOf(encodedTime));
+        TimeSlot timeSlot = new TimeSlot(encodedTime - 3599, encodedTime);
+        assertEquals(LocalDate.parse("1969-12-31"), timeSlot.getDate());
+        assertEquals(LocalTime.parse("23:00:00"), timeSlot.getStartTime());
+        assertEquals(LocalTime.parse("23:59:59"), timeSlot.getEndTime());
+    }
+
+    @Test
+    void createFromEventDtoTest() {
+        TimeSlot timeSlot = new TimeSlot(new EventDto(1L, "Title", "Details", "2023-12-29", "12:00:00", "13:30:00"));
+        assertEquals(LocalDate.parse("2023-12-29"), timeSlot.getDate());
+        assertEquals(LocalTime.parse("12:00:00"), timeSlot.getStartTime());
+        assertEquals(LocalTime.parse("13:30:00"), timeSlot.getEndTime());
+        assertEquals(5400L, timeSlot.getDuration());
+    }
+}
@@ -1,20 +1,25 @@
 package com.emansy.employeeservice.business.service.impl;
 
 import com.emansy.employeeservice.business.mappers.UserMapper;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
 import com.emansy.employeeservice.business.repository.model.UserEntity;
 import com.emansy.employeeservice.model.UserDto;
+import com.emansy.employeeservice.security.SecurityUserCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.Arrays;
@@ -42,6 +47,15 @@ public class UserServiceTest {
     @Mock
     private UserMapper mapper;
 
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private SecurityUserCache securityUserCache;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -49,8 +63,6 @@ public class UserServiceTest {
 
     private UserEntity userEntity;
 
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
     @BeforeEach
     public void init() {
         userDto = new UserDto(1L, "email@email.com", "********", "USER");
@@ -137,6 +149,8 @@ public class UserServiceTest {
         service.delete(userDto);
         verify(repository, times(1)).findByIdAndEmail(userDto.getId(), userDto.getEmail());
         verify(repository, times(1)).delete(userEntity);
+        verify(refreshTokenRepository, times(1)).revokeAllByUserId(userDto.getId());
+        verify(securityUserCache, times(1)).removeUserFromCache(userDto.getEmail());
     }
 
     @Test
@@ -145,6 +159,8 @@ public class UserServiceTest {
         assertThrows(HttpClientErrorException.class, () -> service.delete(userDto));
         verify(repository, times(1)).findByIdAndEmail(userDto.getId(), userDto.getEmail());
         verify(repository, times(0)).delete(userEntity);
+        verify(refreshTokenRepository, times(0)).revokeAllByUserId(anyLong());
+        verify(securityUserCache, times(0)).removeUserFromCache(anyString());
     }
 
     @Test
@@ -156,6 +172,7 @@ public class UserServiceTest {
         assertEquals("ADMIN", userEntity.getRole());
         verify(repository, times(1)).findByIdAndEmail(userDto.getId(), userDto.getEmail());
         verify(repository, times(1)).save(userEntity);
+        verify(securityUserCache, times(1)).removeUserFromCache(userDto.getEmail());
     }
 
     @Test
@@ -175,6 +192,23 @@ public class UserServiceTest {
         assertTrue(passwordEncoder.matches("NewPassword", userEntity.getPassword()));
         verify(repository, times(1)).findByIdAndEmail(userDto.getId(), userDto.getEmail());
         verify(repository, times(1)).save(userEntity);
+        verify(refreshTokenRepository, times(1)).revokeAllByUserId(userDto.getId());
+        verify(securityUserCache, times(1)).removeUserFromCache(userDto.getEmail());
+    }
+
+    @Test
+    void changePasswordTestUserEvictedAfterCommit() {
+        when(repository.findByIdAndEmail(anyLong(), anyString())).thenReturn(Optional.of(userEntity));
+        userDto.setPassword("NewPassword");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.changePassword(userDto);
+            verify(securityUserCache, times(0)).removeUserFromCache(anyString());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(securityUserCache, times(1)).removeUserFromCache(userDto.getEmail());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -183,5 +217,6 @@ public class UserServiceTest {
         assertThrows(HttpClientErrorException.class, () -> service.changePassword(userDto));
         verify(repository, times(1)).findByIdAndEmail(userDto.getId(), userDto.getEmail());
         verify(repository, times(0)).save(userEntity);
+        verify(refreshTokenRepository, times(0)).revokeAllByUserId(anyLong());
     }
 }
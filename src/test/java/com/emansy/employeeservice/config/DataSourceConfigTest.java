@@ -0,0 +1,63 @@
+package com.emansy.employeeservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataSourceConfigTest {
+
+    private DataSource primaryDataSource;
+
+    private DataSource replicaDataSource;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void init() throws SQLException {
+        primaryDataSource = mock(DataSource.class);
+        replicaDataSource = mock(DataSource.class);
+        when(primaryDataSource.getConnection()).thenReturn(mock(Connection.class));
+        when(replicaDataSource.getConnection()).thenReturn(mock(Connection.class));
+        dataSource = new DataSourceConfig().dataSource(primaryDataSource, replicaDataSource);
+    }
+
+    @AfterEach
+    public void destroy() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnectionTestReadOnlyRoutedToReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+        verify(replicaDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnectionTestReadWriteRoutedToPrimary() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+        verify(primaryDataSource, times(2)).getConnection();
+        verify(replicaDataSource, times(0)).getConnection();
+    }
+
+    @Test
+    void getConnectionTestNotUsedConnectionNotFetched() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        dataSource.getConnection().close();
+        verify(replicaDataSource, times(0)).getConnection();
+    }
+}
@@ -0,0 +1,73 @@
+package com.emansy.employeeservice.kafka;
+
+import com.emansy.employeeservice.business.service.EmployeeService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
+import com.emansy.employeeservice.model.AttendeeIdsDto;
+import com.emansy.employeeservice.model.EventDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaConsumerTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private AttendanceIndex attendanceIndex;
+
+    private KafkaConsumer kafkaConsumer;
+
+    @BeforeEach
+    public void init() {
+        kafkaConsumer = new KafkaConsumer(employeeService, new EventCache(Duration.ofMinutes(1), 2), attendanceIndex);
+    }
+
+    @Test
+    void handleAttendanceRequestsTestFailedRequestSkippedOneByOne() throws ExecutionException, InterruptedException {
+        List<ConsumerRecord<String, AttendeeIdsDto>> consumerRecords = Arrays.asList(
+                createConsumerRecord(1L, "reply-1"), createConsumerRecord(2L, "reply-2"),
+                createConsumerRecord(3L, "reply-3"));
+        when(employeeService.handleAttendanceRequests(anyList())).thenAnswer(invocation -> {
+            List<AttendeeIdsDto> attendeeIdsDtos = invocation.getArgument(0);
+            if (attendeeIdsDtos.size() > 1 || attendeeIdsDtos.get(0).getEventDto().getId() == 2L) {
+                throw new IllegalStateException("Request is not handled");
+            }
+            return Collections.singletonList(attendeeIdsDtos.get(0).getEventDto());
+        });
+        List<Message<EventDto>> replies = kafkaConsumer.handleAttendanceRequests(consumerRecords);
+        assertEquals(2, replies.size());
+        assertEquals(1L, replies.get(0).getPayload().getId());
+        assertEquals("reply-1", replies.get(0).getHeaders().get(KafkaHeaders.TOPIC));
+        assertEquals(3L, replies.get(1).getPayload().getId());
+        assertEquals("reply-3", replies.get(1).getHeaders().get(KafkaHeaders.TOPIC));
+        verify(employeeService, times(4)).handleAttendanceRequests(anyList());
+    }
+
+    private ConsumerRecord<String, AttendeeIdsDto> createConsumerRecord(Long eventId, String replyTopic) {
+        ConsumerRecord<String, AttendeeIdsDto> consumerRecord = new ConsumerRecord<>("attendance-request", 0, eventId,
+                null, new AttendeeIdsDto(true, Collections.singleton(1L), new EventDto(
+                eventId, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00")));
+        consumerRecord.headers().add(KafkaHeaders.REPLY_TOPIC, replyTopic.getBytes(StandardCharsets.UTF_8));
+        return consumerRecord;
+    }
+}
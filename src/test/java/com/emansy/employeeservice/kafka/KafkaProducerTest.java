@@ -0,0 +1,206 @@
+package com.emansy.employeeservice.kafka;
+
+import com.emansy.employeeservice.model.AttendeesDto;
+import com.emansy.employeeservice.model.EventDto;
+import com.emansy.employeeservice.model.EventIdsWithinDatesDto;
+import com.emansy.employeeservice.model.EventsDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.requestreply.RequestReplyFuture;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaProducerTest {
+
+    @Mock
+    private ReplyingKafkaTemplate<String, EventIdsWithinDatesDto, EventsDto> eventsReplyingKafkaTemplate;
+
+    @Mock
+    private KafkaTemplate<String, AttendeesDto> attendanceKafkaTemplate;
+
+    private RequestReplyFuture<String, EventIdsWithinDatesDto, EventsDto> requestReplyFuture;
+
+    private EventCache eventCache;
+
+    private KafkaProducer kafkaProducer;
+
+    @BeforeEach
+    public void init() {
+        requestReplyFuture = new RequestReplyFuture<>();
+        eventCache = new EventCache(Duration.ofMinutes(1), 2);
+        kafkaProducer = new KafkaProducer(eventsReplyingKafkaTemplate, attendanceKafkaTemplate, eventCache,
+                Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    public void destroy() {
+        kafkaProducer.shutdown();
+    }
+
+    @Test
+    void requestEventsTestCoalesced() throws ExecutionException, InterruptedException {
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        CompletableFuture<Set<EventDto>> events = kafkaProducer.requestEvents(createEventIds(1L, 2L), "2023-03-21", "");
+        CompletableFuture<Set<EventDto>> anotherEvents = kafkaProducer.requestEvents(createEventIds(2L, 3L), "2023-03-21", "");
+        ArgumentCaptor<ProducerRecord<String, EventIdsWithinDatesDto>> producerRecord =
+                ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(eventsReplyingKafkaTemplate, timeout(1000)).sendAndReceive(producerRecord.capture(), any(Duration.class));
+        assertEquals(createEventIds(1L, 2L, 3L), producerRecord.getValue().value().getIds());
+        requestReplyFuture.set(createConsumerRecord(1L, 2L, 3L));
+        assertEquals(createEventIds(1L, 2L), collectEventIds(events.get()));
+        assertEquals(createEventIds(2L, 3L), collectEventIds(anotherEvents.get()));
+    }
+
+    @Test
+    void requestEventsTestJoinsSentRequest() throws ExecutionException, InterruptedException {
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        CompletableFuture<Set<EventDto>> events = kafkaProducer.requestEvents(createEventIds(1L, 2L), "2023-03-21", "");
+        verify(eventsReplyingKafkaTemplate, timeout(1000)).sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+        CompletableFuture<Set<EventDto>> anotherEvents = kafkaProducer.requestEvents(createEventIds(2L), "2023-03-21", "");
+        requestReplyFuture.set(createConsumerRecord(1L, 2L));
+        assertEquals(createEventIds(1L, 2L), collectEventIds(events.get()));
+        assertEquals(createEventIds(2L), collectEventIds(anotherEvents.get()));
+        verify(eventsReplyingKafkaTemplate, times(1)).sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+    }
+
+    @Test
+    void requestEventsTestNotCoalescedForDifferentDates() {
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        kafkaProducer.requestEvents(createEventIds(1L), "2023-03-21", "");
+        kafkaProducer.requestEvents(createEventIds(1L), "2023-03-21", "2024-01-01");
+        verify(eventsReplyingKafkaTemplate, timeout(1000).times(2))
+                .sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+    }
+
+    @Test
+    void requestEventsTestNegativeFailedReply() {
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        CompletableFuture<Set<EventDto>> events = kafkaProducer.requestEvents(createEventIds(1L), "2023-03-21", "");
+        CompletableFuture<Set<EventDto>> anotherEvents = kafkaProducer.requestEvents(createEventIds(2L), "2023-03-21", "");
+        verify(eventsReplyingKafkaTemplate, timeout(1000)).sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+        requestReplyFuture.setException(new IllegalStateException("Reply timed out"));
+        assertThrows(ExecutionException.class, events::get);
+        assertThrows(ExecutionException.class, anotherEvents::get);
+    }
+
+    @Test
+    void requestEventsTestCached() throws ExecutionException, InterruptedException {
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        CompletableFuture<Set<EventDto>> events = kafkaProducer.requestEvents(createEventIds(1L, 2L), "2023-03-21", "");
+        verify(eventsReplyingKafkaTemplate, timeout(1000)).sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+        requestReplyFuture.set(createConsumerRecord(1L, 2L));
+        assertEquals(createEventIds(1L, 2L), collectEventIds(events.get()));
+        assertEquals(createEventIds(1L, 2L),
+                collectEventIds(kafkaProducer.requestEvents(createEventIds(1L, 2L), "2023-03-21", "").get()));
+        assertEquals(createEventIds(1L), collectEventIds(
+                kafkaProducer.requestEvents(createEventIds(1L), "2023-12-01", "2023-12-31").get()));
+        assertTrue(kafkaProducer.requestEvents(createEventIds(2L), "2024-01-01", "").get().isEmpty());
+        verify(eventsReplyingKafkaTemplate, times(1)).sendAndReceive(any(ProducerRecord.class), any(Duration.class));
+    }
+
+    @Test
+    void requestEventsTestOnlyUncachedRequested() throws ExecutionException, InterruptedException {
+        eventCache.saveAll(createConsumerRecord(1L).value().getEventDtos());
+        eventCache.evictById(1L);
+        eventCache.saveAll(createConsumerRecord(2L).value().getEventDtos());
+        when(eventsReplyingKafkaTemplate.sendAndReceive(any(ProducerRecord.class), any(Duration.class)))
+                .thenReturn(requestReplyFuture);
+        CompletableFuture<Set<EventDto>> events = kafkaProducer.requestEvents(createEventIds(1L, 2L), "2023-03-21", "");
+        ArgumentCaptor<ProducerRecord<String, EventIdsWithinDatesDto>> producerRecord =
+                ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(eventsReplyingKafkaTemplate, timeout(1000)).sendAndReceive(producerRecord.capture(), any(Duration.class));
+        assertEquals(createEventIds(1L), producerRecord.getValue().value().getIds());
+        requestReplyFuture.set(createConsumerRecord(1L));
+        assertEquals(createEventIds(1L, 2L), collectEventIds(events.get()));
+    }
+
+    @Test
+    void requestEventsTestCacheEvictedBySize() throws ExecutionException, InterruptedException {
+        eventCache.saveAll(createConsumerRecord(1L, 2L).value().getEventDtos());
+        eventCache.saveAll(createConsumerRecord(3L).value().getEventDtos());
+        assertFalse(eventCache.findById(1L).isPresent());
+        assertTrue(eventCache.findById(2L).isPresent());
+        assertTrue(eventCache.findById(3L).isPresent());
+        assertEquals(createEventIds(2L, 3L),
+                collectEventIds(kafkaProducer.requestEvents(createEventIds(2L, 3L), "2023-03-21", "").get()));
+    }
+
+    private Set<Long> createEventIds(Long... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    private Set<Long> collectEventIds(Set<EventDto> eventDtos) {
+        Set<Long> eventIds = new HashSet<>();
+        eventDtos.forEach(eventDto -> eventIds.add(eventDto.getId()));
+        return eventIds;
+    }
+
+    @Test
+    void sendAttendanceNotificationTestSentAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            kafkaProducer.sendAttendanceNotification(true, Collections.emptySet(),
+                    new EventDto(1L, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00"));
+            verify(attendanceKafkaTemplate, never()).send(any(String.class), any(AttendeesDto.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(attendanceKafkaTemplate, times(1)).send(any(String.class), any(AttendeesDto.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sendAttendanceNotificationTestNotSentAfterRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            kafkaProducer.sendAttendanceNotification(false, Collections.emptySet(),
+                    new EventDto(1L, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            verify(attendanceKafkaTemplate, never()).send(any(String.class), any(AttendeesDto.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ConsumerRecord<String, EventsDto> createConsumerRecord(Long... ids) {
+        Set<EventDto> eventDtos = new HashSet<>();
+        Arrays.stream(ids).forEach(id -> eventDtos.add(
+                new EventDto(id, "Title", "Details", "2023-12-29", "12:00:00", "13:00:00")));
+        return new ConsumerRecord<>("events-response", 0, 0L, null, new EventsDto(eventDtos));
+    }
+}
@@ -0,0 +1,115 @@
+package com.emansy.employeeservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @AfterEach
+    public void destroy() {
+        released.countDown();
+        if (boundedPasswordEncoder != null) boundedPasswordEncoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatchesTest() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+        String encodedPassword = boundedPasswordEncoder.encode("Password");
+        assertNotEquals("Password", encodedPassword);
+        assertTrue(boundedPasswordEncoder.matches("Password", encodedPassword));
+        assertFalse(boundedPasswordEncoder.matches("NewPassword", encodedPassword));
+    }
+
+    @Test
+    void matchesTestQueued() throws ExecutionException, InterruptedException {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() ->
+                boundedPasswordEncoder.matches("Password", "Password"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() ->
+                boundedPasswordEncoder.matches("Password", "Password"));
+        released.countDown();
+        assertTrue(blocked.get());
+        assertTrue(queued.get());
+    }
+
+    @Test
+    void matchesTestNegativeSaturated() throws InterruptedException {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 0, Duration.ofSeconds(5));
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.matches("Password", "Password"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        HttpServerErrorException exception = assertThrows(HttpServerErrorException.class,
+                () -> boundedPasswordEncoder.matches("Password", "Password"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void matchesTestNegativeQueueWaitExceeded() throws InterruptedException {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, Duration.ofMillis(100));
+        CompletableFuture.runAsync(() -> boundedPasswordEncoder.matches("Password", "Password"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() ->
+                boundedPasswordEncoder.matches("Password", "Password"));
+        Thread.sleep(300);
+        released.countDown();
+        ExecutionException exception = assertThrows(ExecutionException.class, queued::get);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((HttpServerErrorException) exception.getCause()).getStatusCode());
+    }
+
+    @Test
+    void encodeTestNegativeDelegateFails() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+        assertThrows(IllegalArgumentException.class, () -> boundedPasswordEncoder.encode(null));
+    }
+
+    @Test
+    void calibrateTest() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(4, BCryptCostCalibrator.calibrate(Duration.ZERO, 1, new PrintStream(output)));
+        assertTrue(output.toString().contains("strength"));
+        assertTrue(BCryptCostCalibrator.calibrate(Duration.ofMillis(50), 1, new PrintStream(output)) >= 4);
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                return released.await(5, TimeUnit.SECONDS) && rawPassword.toString().equals(encodedPassword);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
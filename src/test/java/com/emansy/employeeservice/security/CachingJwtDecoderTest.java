@@ -0,0 +1,106 @@
+package com.emansy.employeeservice.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    private CachingJwtDecoder cachingJwtDecoder;
+
+    @BeforeEach
+    public void init() {
+        cachingJwtDecoder = new CachingJwtDecoder(jwtDecoder, 2);
+    }
+
+    @Test
+    void decodeTestCached() {
+        Jwt jwt = createJwt("token", Instant.now().plusSeconds(3600));
+        when(jwtDecoder.decode("token")).thenReturn(jwt);
+        assertSame(jwt, cachingJwtDecoder.decode("token"));
+        assertSame(jwt, cachingJwtDecoder.decode("token"));
+        assertSame(jwt, cachingJwtDecoder.decode("token"));
+        verify(jwtDecoder, times(1)).decode("token");
+        assertEquals(2, cachingJwtDecoder.getHitCount());
+        assertEquals(1, cachingJwtDecoder.getMissCount());
+        assertEquals(1, cachingJwtDecoder.getPutCount());
+    }
+
+    @Test
+    void decodeTestNotCachedAfterExpiry() throws InterruptedException {
+        when(jwtDecoder.decode("token")).thenReturn(createJwt("token", Instant.now().plusMillis(50)));
+        cachingJwtDecoder.decode("token");
+        Thread.sleep(100);
+        cachingJwtDecoder.decode("token");
+        verify(jwtDecoder, times(2)).decode("token");
+        assertEquals(0, cachingJwtDecoder.getHitCount());
+    }
+
+    @Test
+    void decodeTestEvictedBySize() {
+        when(jwtDecoder.decode(anyString())).thenAnswer(invocation ->
+                createJwt(invocation.getArgument(0), Instant.now().plusSeconds(3600)));
+        cachingJwtDecoder.decode("first");
+        cachingJwtDecoder.decode("second");
+        cachingJwtDecoder.decode("third");
+        cachingJwtDecoder.decode("third");
+        cachingJwtDecoder.decode("first");
+        verify(jwtDecoder, times(2)).decode("first");
+        verify(jwtDecoder, times(1)).decode("third");
+        assertEquals(2, cachingJwtDecoder.size());
+    }
+
+    @Test
+    void decodeTestRedecodedTokenEvictedByRecentUse() throws InterruptedException {
+        when(jwtDecoder.decode("first")).thenReturn(createJwt("first", Instant.now().plusMillis(50)),
+                createJwt("first", Instant.now().plusSeconds(3600)));
+        when(jwtDecoder.decode("second")).thenReturn(createJwt("second", Instant.now().plusSeconds(3600)));
+        when(jwtDecoder.decode("third")).thenReturn(createJwt("third", Instant.now().plusSeconds(3600)));
+        cachingJwtDecoder.decode("first");
+        Thread.sleep(100);
+        cachingJwtDecoder.decode("first");
+        cachingJwtDecoder.decode("second");
+        cachingJwtDecoder.decode("first");
+        cachingJwtDecoder.decode("third");
+        cachingJwtDecoder.decode("first");
+        verify(jwtDecoder, times(2)).decode("first");
+        assertEquals(2, cachingJwtDecoder.size());
+    }
+
+    @Test
+    void decodeTestNegativeInvalidToken() {
+        when(jwtDecoder.decode("token")).thenThrow(new BadJwtException("Invalid signature"));
+        assertThrows(BadJwtException.class, () -> cachingJwtDecoder.decode("token"));
+        assertThrows(BadJwtException.class, () -> cachingJwtDecoder.decode("token"));
+        verify(jwtDecoder, times(2)).decode("token");
+        assertEquals(0, cachingJwtDecoder.getPutCount());
+    }
+
+    private Jwt createJwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("email@email.com")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.emansy.employeeservice.security;
+
+import com.emansy.employeeservice.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitFilterTest {
+
+    private RateLimitProperties rateLimitProperties;
+
+    private RateLimiter rateLimiter;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    public void init() {
+        rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getRoutes().put("token", createRoute("POST", "/api/v1/token/**", 1));
+        rateLimitProperties.getRoutes().put("attended-events", createRoute("GET", "/api/v1/employees/*/*/*", 1));
+        rateLimiter = new RateLimiter(Duration.ofMinutes(10));
+        rateLimitFilter = new RateLimitFilter(rateLimitProperties, rateLimiter,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @AfterEach
+    public void destroy() {
+        SecurityContextHolder.clearContext();
+        rateLimiter.shutdown();
+    }
+
+    @Test
+    void doFilterTestLimitedByIp() throws ServletException, IOException {
+        assertEquals(200, filter("POST", "/api/v1/token", "10.0.0.1").getStatus());
+        MockHttpServletResponse response = filter("POST", "/api/v1/token/refresh", "10.0.0.1");
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too Many Requests"));
+        assertEquals(200, filter("POST", "/api/v1/token", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void doFilterTestLimitedByPrincipal() throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("email@email.com", null, "USER"));
+        assertEquals(200, filter("GET", "/api/v1/employees/1/2023-01-01/2023-12-31", "10.0.0.1").getStatus());
+        assertEquals(429, filter("GET", "/api/v1/employees/1/2023-01-01/2023-12-31/", "10.0.0.2").getStatus());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin@email.com", null, "ADMIN"));
+        assertEquals(200, filter("GET", "/api/v1/employees/1/2023-01-01/2023-12-31", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void doFilterTestOtherRoutesNotLimited() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, filter("GET", "/api/v1/employees/1", "10.0.0.1").getStatus());
+            assertEquals(200, filter("GET", "/api/v1/token", "10.0.0.1").getStatus());
+        }
+        assertEquals(0, rateLimiter.size());
+    }
+
+    @Test
+    void doFilterTestDisabled() throws ServletException, IOException {
+        rateLimitProperties.setEnabled(false);
+        for (int i = 0; i < 3; i++) assertEquals(200, filter("POST", "/api/v1/token", "10.0.0.1").getStatus());
+    }
+
+    private MockHttpServletResponse filter(String method, String uri, String remoteAddr) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        if (response.getStatus() == 200) assertNotNull(filterChain.getRequest());
+        else assertNull(filterChain.getRequest());
+        return response;
+    }
+
+    private RateLimitProperties.Route createRoute(String method, String pattern, long capacity) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setMethod(method);
+        route.setPattern(pattern);
+        route.setCapacity(capacity);
+        route.setRefillPeriod(Duration.ofMinutes(1));
+        return route;
+    }
+}
@@ -0,0 +1,76 @@
+package com.emansy.employeeservice.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void init() {
+        rateLimiter = new RateLimiter(Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    public void destroy() {
+        rateLimiter.shutdown();
+    }
+
+    @Test
+    void tryConsumeTestLimited() {
+        assertTrue(rateLimiter.tryConsume("token:ip:1", 2, Duration.ofMinutes(1)).isZero());
+        assertTrue(rateLimiter.tryConsume("token:ip:1", 2, Duration.ofMinutes(1)).isZero());
+        Duration retryAfter = rateLimiter.tryConsume("token:ip:1", 2, Duration.ofMinutes(1));
+        assertFalse(retryAfter.isZero());
+        assertTrue(retryAfter.compareTo(Duration.ofSeconds(30)) <= 0);
+        assertTrue(rateLimiter.tryConsume("token:ip:2", 2, Duration.ofMinutes(1)).isZero());
+    }
+
+    @Test
+    void tryConsumeTestRefilled() throws InterruptedException {
+        assertTrue(rateLimiter.tryConsume("token:ip:1", 1, Duration.ofMillis(100)).isZero());
+        assertFalse(rateLimiter.tryConsume("token:ip:1", 1, Duration.ofMillis(100)).isZero());
+        Thread.sleep(150);
+        assertTrue(rateLimiter.tryConsume("token:ip:1", 1, Duration.ofMillis(100)).isZero());
+    }
+
+    @Test
+    void tryConsumeTestConcurrent() {
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[200];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                if (rateLimiter.tryConsume("token:ip:1", 50, Duration.ofHours(1)).isZero()) consumed.incrementAndGet();
+            }, executorService);
+        }
+        CompletableFuture.allOf(futures).join();
+        executorService.shutdownNow();
+        assertEquals(50, consumed.get());
+    }
+
+    @Test
+    void evictIdleBucketsTest() throws InterruptedException {
+        rateLimiter.shutdown();
+        rateLimiter = new RateLimiter(Duration.ofMillis(50));
+        rateLimiter.tryConsume("token:ip:1", 1, Duration.ofMillis(10));
+        rateLimiter.tryConsume("token:ip:2", 1, Duration.ofMillis(10));
+        assertEquals(2, rateLimiter.size());
+        Thread.sleep(100);
+        rateLimiter.tryConsume("token:ip:2", 1, Duration.ofMillis(10));
+        rateLimiter.evictIdleBuckets();
+        assertEquals(1, rateLimiter.size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.emansy.employeeservice.security;
+
+import com.emansy.employeeservice.business.repository.model.UserEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SecurityUserCacheTest {
+
+    @Test
+    void getUserFromCacheTestPositive() {
+        SecurityUserCache securityUserCache = new SecurityUserCache(Duration.ofMinutes(1), 2);
+        securityUserCache.putUserInCache(createSecurityUser(1L, "email@email.com"));
+        SecurityUser securityUser = (SecurityUser) securityUserCache.getUserFromCache("email@email.com");
+        assertEquals(1L, securityUser.getId());
+        assertEquals("ADMIN", securityUser.getRole());
+    }
+
+    @Test
+    void getUserFromCacheTestNegativeRemoved() {
+        SecurityUserCache securityUserCache = new SecurityUserCache(Duration.ofMinutes(1), 2);
+        securityUserCache.putUserInCache(createSecurityUser(1L, "email@email.com"));
+        securityUserCache.removeUserFromCache("email@email.com");
+        assertNull(securityUserCache.getUserFromCache("email@email.com"));
+    }
+
+    @Test
+    void getUserFromCacheTestNegativeExpired() throws InterruptedException {
+        SecurityUserCache securityUserCache = new SecurityUserCache(Duration.ofMillis(50), 2);
+        securityUserCache.putUserInCache(createSecurityUser(1L, "email@email.com"));
+        Thread.sleep(100);
+        assertNull(securityUserCache.getUserFromCache("email@email.com"));
+    }
+
+    @Test
+    void getUserFromCacheTestNegativeEvictedBySize() {
+        SecurityUserCache securityUserCache = new SecurityUserCache(Duration.ofMinutes(1), 2);
+        securityUserCache.putUserInCache(createSecurityUser(1L, "first@email.com"));
+        securityUserCache.putUserInCache(createSecurityUser(2L, "second@email.com"));
+        securityUserCache.putUserInCache(createSecurityUser(3L, "third@email.com"));
+        assertNull(securityUserCache.getUserFromCache("first@email.com"));
+        assertEquals(3L, ((SecurityUser) securityUserCache.getUserFromCache("third@email.com")).getId());
+    }
+
+    @Test
+    void putUserInCacheTestNegativeDisabled() {
+        SecurityUserCache securityUserCache = new SecurityUserCache(Duration.ZERO, 2);
+        securityUserCache.putUserInCache(createSecurityUser(1L, "email@email.com"));
+        assertNull(securityUserCache.getUserFromCache("email@email.com"));
+    }
+
+    private SecurityUser createSecurityUser(Long id, String email) {
+        return new SecurityUser(new UserEntity(id, email, "Password", "ADMIN"));
+    }
+}
@@ -4,18 +4,25 @@ import com.emansy.employeeservice.business.mappers.CountryMapperImpl;
 import com.emansy.employeeservice.business.mappers.EmployeeMapperImpl;
 import com.emansy.employeeservice.business.mappers.JobTitleMapperImpl;
 import com.emansy.employeeservice.business.mappers.OfficeMapperImpl;
+import com.emansy.employeeservice.business.mappers.PasswordMapper;
 import com.emansy.employeeservice.business.mappers.UserMapperImpl;
 import com.emansy.employeeservice.business.repository.EmployeeRepository;
 import com.emansy.employeeservice.business.repository.EventIdRepository;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
+import com.emansy.employeeservice.business.repository.model.RefreshTokenEntity;
 import com.emansy.employeeservice.business.repository.model.UserEntity;
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
 import com.emansy.employeeservice.business.service.TokenService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
 import com.emansy.employeeservice.business.service.impl.EmployeeServiceImpl;
+import com.emansy.employeeservice.business.service.impl.SchedulingEngine;
 import com.emansy.employeeservice.business.service.impl.UserServiceImpl;
-import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
 import com.emansy.employeeservice.config.SecurityConfig;
 import com.emansy.employeeservice.kafka.KafkaProducer;
 import com.emansy.employeeservice.model.LoginDto;
+import com.emansy.employeeservice.model.RefreshTokenDto;
+import com.emansy.employeeservice.security.SecurityUserCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,21 +35,28 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(properties = "security.rate-limit.enabled=false")
 @Import({SecurityConfig.class,
         TokenService.class,
         UserServiceImpl.class,
         UserMapperImpl.class,
+        PasswordMapper.class,
         EmployeeServiceImpl.class,
         EmployeeMapperImpl.class,
         JobTitleMapperImpl.class,
@@ -65,6 +79,9 @@ public class AuthControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
     @MockBean
     private EventIdRepository eventIdRepository;
 
@@ -75,7 +92,16 @@ public class AuthControllerTest {
     private KafkaProducer kafkaProducer;
 
     @MockBean
-    private PublicHolidayRestTemplate publicHolidayRestTemplate;
+    private SchedulingEngine schedulingEngine;
+
+    @MockBean
+    private AttendanceIndex attendanceIndex;
+
+    @MockBean
+    private SecurityUserCache securityUserCache;
+
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
 
     @Test
     void getTokenTestPositive() throws Exception {
@@ -85,8 +111,11 @@ public class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists("Refresh-Token"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(refreshTokenRepository, times(1)).save(argThat(refreshTokenEntity ->
+                refreshTokenEntity.getFamilyId() != null && !refreshTokenEntity.isUsed()));
     }
 
     @Test
@@ -110,6 +139,84 @@ public class AuthControllerTest {
         verify(userRepository, times(1)).findByEmail(anyString());
     }
 
+    @Test
+    void refreshTokenTestPositive() throws Exception {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(
+                createRefreshTokenEntity(Instant.now().plus(1, ChronoUnit.DAYS), false)));
+        when(refreshTokenRepository.markUsedById(1L)).thenReturn(1);
+        when(userRepository.findById(anyLong())).thenReturn(createUserEntity());
+        mockMvc.perform(post(URL + "/refresh")
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDto("refresh token")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists("Refresh-Token"))
+                .andExpect(status().isOk());
+        verify(refreshTokenRepository, times(1)).markUsedById(1L);
+        verify(refreshTokenRepository, times(1)).save(argThat(refreshTokenEntity ->
+                "family".equals(refreshTokenEntity.getFamilyId()) && !refreshTokenEntity.isUsed()));
+        verify(refreshTokenRepository, times(0)).revokeAllByFamilyId(anyString());
+        verify(userRepository, times(0)).findByEmail(anyString());
+    }
+
+    @Test
+    void refreshTokenTestNegativeBadRequest() throws Exception {
+        mockMvc.perform(post(URL + "/refresh")
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDto("")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(refreshTokenRepository, times(0)).findByTokenHash(anyString());
+    }
+
+    @Test
+    void refreshTokenTestNegativeExpired() throws Exception {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(
+                createRefreshTokenEntity(Instant.now().minus(1, ChronoUnit.DAYS), false)));
+        when(refreshTokenRepository.markUsedById(1L)).thenReturn(1);
+        mockMvc.perform(post(URL + "/refresh")
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDto("refresh token")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenRepository, times(0)).revokeAllByFamilyId(anyString());
+        verify(refreshTokenRepository, times(0)).save(any(RefreshTokenEntity.class));
+    }
+
+    @Test
+    void refreshTokenTestNegativeReusedFamilyRevoked() throws Exception {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(
+                createRefreshTokenEntity(Instant.now().plus(1, ChronoUnit.DAYS), true)));
+        mockMvc.perform(post(URL + "/refresh")
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDto("refresh token")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenRepository, times(0)).markUsedById(anyLong());
+        verify(refreshTokenRepository, times(1)).revokeAllByFamilyId("family");
+        verify(userRepository, times(0)).findById(anyLong());
+        verify(refreshTokenRepository, times(0)).save(any(RefreshTokenEntity.class));
+    }
+
+    @Test
+    void refreshTokenTestNegativeConcurrentlyUsedFamilyRevoked() throws Exception {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(
+                createRefreshTokenEntity(Instant.now().plus(1, ChronoUnit.DAYS), false)));
+        when(refreshTokenRepository.markUsedById(1L)).thenReturn(0);
+        mockMvc.perform(post(URL + "/refresh")
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDto("refresh token")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenRepository, times(1)).revokeAllByFamilyId("family");
+        verify(userRepository, times(0)).findById(anyLong());
+        verify(refreshTokenRepository, times(0)).save(any(RefreshTokenEntity.class));
+    }
+
+    private RefreshTokenEntity createRefreshTokenEntity(Instant expiresAt, boolean used) {
+        return new RefreshTokenEntity(1L, "hash", "family", 1L, expiresAt, used);
+    }
+
     private Optional<UserEntity> createUserEntity() {
         UserEntity userEntity = new UserEntity();
         userEntity.setId(1L);
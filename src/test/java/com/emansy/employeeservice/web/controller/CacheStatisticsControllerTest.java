@@ -0,0 +1,153 @@
+package com.emansy.employeeservice.web.controller;
+
+import com.emansy.employeeservice.business.mappers.CountryMapperImpl;
+import com.emansy.employeeservice.business.mappers.EmployeeMapperImpl;
+import com.emansy.employeeservice.business.mappers.JobTitleMapperImpl;
+import com.emansy.employeeservice.business.mappers.OfficeMapperImpl;
+import com.emansy.employeeservice.business.mappers.PasswordMapper;
+import com.emansy.employeeservice.business.mappers.UserMapperImpl;
+import com.emansy.employeeservice.business.repository.EmployeeRepository;
+import com.emansy.employeeservice.business.repository.EventIdRepository;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
+import com.emansy.employeeservice.business.repository.UserRepository;
+import com.emansy.employeeservice.business.repository.model.UserEntity;
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
+import com.emansy.employeeservice.business.service.TokenService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
+import com.emansy.employeeservice.business.service.impl.EmployeeServiceImpl;
+import com.emansy.employeeservice.business.service.impl.SchedulingEngine;
+import com.emansy.employeeservice.business.service.impl.UserServiceImpl;
+import com.emansy.employeeservice.config.SecurityConfig;
+import com.emansy.employeeservice.kafka.KafkaProducer;
+import com.emansy.employeeservice.model.CacheStatisticsDto;
+import com.emansy.employeeservice.model.LoginDto;
+import com.emansy.employeeservice.security.SecurityUserCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(properties = "security.rate-limit.enabled=false")
+@Import({SecurityConfig.class,
+        TokenService.class,
+        UserServiceImpl.class,
+        UserMapperImpl.class,
+        PasswordMapper.class,
+        EmployeeServiceImpl.class,
+        EmployeeMapperImpl.class,
+        JobTitleMapperImpl.class,
+        OfficeMapperImpl.class,
+        CountryMapperImpl.class})
+public class CacheStatisticsControllerTest {
+
+    private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String URL = "/api/v1/cache-statistics";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @MockBean
+    private EventIdRepository eventIdRepository;
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private KafkaProducer kafkaProducer;
+
+    @MockBean
+    private SchedulingEngine schedulingEngine;
+
+    @MockBean
+    private AttendanceIndex attendanceIndex;
+
+    @MockBean
+    private SecurityUserCache securityUserCache;
+
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Test
+    void findCacheStatisticsTestPositive() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(createUserEntity("ADMIN")));
+        when(cacheStatisticsService.findAll()).thenReturn(Arrays.asList(
+                new CacheStatisticsDto("com.emansy.employeeservice.business.repository.model.CountryEntity", 5L, 1L, 1L),
+                new CacheStatisticsDto("query-results", 2L, 1L, 1L)));
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].hitCount").value(5L))
+                .andExpect(jsonPath("$[1].regionName").value("query-results"))
+                .andExpect(status().isOk());
+        verify(cacheStatisticsService, times(1)).findAll();
+    }
+
+    @Test
+    void findCacheStatisticsTestNegativeForbidden() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(createUserEntity("USER")));
+        mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
+                .andExpect(status().isForbidden());
+        verify(cacheStatisticsService, times(0)).findAll();
+    }
+
+    @Test
+    void findCacheStatisticsTestNegativeUnauthorized() throws Exception {
+        mockMvc.perform(get(URL))
+                .andExpect(status().isUnauthorized());
+        verify(cacheStatisticsService, times(0)).findAll();
+    }
+
+    private String createToken() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/token")
+                        .content(objectMapper.writeValueAsString(new LoginDto("email@email.com", "Password")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getContentAsString();
+    }
+
+    private UserEntity createUserEntity(String role) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setEmail("email@email.com");
+        userEntity.setPassword(passwordEncoder.encode("Password"));
+        userEntity.setRole(role);
+        return userEntity;
+    }
+}
@@ -4,19 +4,24 @@ import com.emansy.employeeservice.business.mappers.CountryMapperImpl;
 import com.emansy.employeeservice.business.mappers.EmployeeMapperImpl;
 import com.emansy.employeeservice.business.mappers.JobTitleMapperImpl;
 import com.emansy.employeeservice.business.mappers.OfficeMapperImpl;
+import com.emansy.employeeservice.business.mappers.PasswordMapper;
 import com.emansy.employeeservice.business.mappers.UserMapperImpl;
 import com.emansy.employeeservice.business.repository.EmployeeRepository;
 import com.emansy.employeeservice.business.repository.EventIdRepository;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
 import com.emansy.employeeservice.business.repository.model.EmployeeEntity;
+import com.emansy.employeeservice.business.repository.model.EmployeeRow;
 import com.emansy.employeeservice.business.repository.model.EventIdEntity;
 import com.emansy.employeeservice.business.repository.model.JobTitleEntity;
 import com.emansy.employeeservice.business.repository.model.OfficeEntity;
 import com.emansy.employeeservice.business.repository.model.UserEntity;
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
 import com.emansy.employeeservice.business.service.TokenService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
 import com.emansy.employeeservice.business.service.impl.EmployeeServiceImpl;
+import com.emansy.employeeservice.business.service.impl.SchedulingEngine;
 import com.emansy.employeeservice.business.service.impl.UserServiceImpl;
-import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
 import com.emansy.employeeservice.config.SecurityConfig;
 import com.emansy.employeeservice.kafka.KafkaProducer;
 import com.emansy.employeeservice.model.EmployeeDto;
@@ -24,12 +29,15 @@ import com.emansy.employeeservice.model.EventDto;
 import com.emansy.employeeservice.model.JobTitleDto;
 import com.emansy.employeeservice.model.LoginDto;
 import com.emansy.employeeservice.model.OfficeDto;
+import com.emansy.employeeservice.security.SecurityUserCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,16 +51,22 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -60,13 +74,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(properties = "security.rate-limit.enabled=false")
 @Import({SecurityConfig.class,
         TokenService.class,
         UserServiceImpl.class,
         UserMapperImpl.class,
+        PasswordMapper.class,
         EmployeeServiceImpl.class,
         EmployeeMapperImpl.class,
         JobTitleMapperImpl.class,
@@ -89,6 +105,9 @@ public class EmployeeControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
     @MockBean
     private EventIdRepository eventIdRepository;
 
@@ -99,32 +118,41 @@ public class EmployeeControllerTest {
     private KafkaProducer kafkaProducer;
 
     @MockBean
-    private PublicHolidayRestTemplate publicHolidayRestTemplate;
+    private SchedulingEngine schedulingEngine;
+
+    @MockBean
+    private AttendanceIndex attendanceIndex;
+
+    @MockBean
+    private SecurityUserCache securityUserCache;
+
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
 
     @Test
     void findAllEmployeesTestPositive() throws Exception {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(createEmployeeEntity(), createEmployeeEntity()));
+        when(employeeRepository.findAllRows()).thenReturn(Arrays.asList(createEmployeeRow(1L), createEmployeeRow(2L)));
         mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].firstName").value("First name"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
-        verify(employeeRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(employeeRepository, times(1)).findAllRows();
     }
 
     @Test
     void findAllEmployeesTestNegativeNoEmployees() throws Exception {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
-        when(employeeRepository.findAll()).thenReturn(Collections.emptyList());
+        when(employeeRepository.findAllRows()).thenReturn(Collections.emptyList());
         mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
-        verify(employeeRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(employeeRepository, times(1)).findAllRows();
     }
 
     @Test
@@ -132,8 +160,8 @@ public class EmployeeControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
         mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
-        verify(employeeRepository, times(0)).findAll();
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(employeeRepository, times(0)).findAllRows();
     }
 
     @Test
@@ -141,7 +169,78 @@ public class EmployeeControllerTest {
         mockMvc.perform(get(URL))
                 .andExpect(status().isUnauthorized());
         verify(userRepository, times(0)).findByEmail(anyString());
-        verify(employeeRepository, times(0)).findAll();
+        verify(employeeRepository, times(0)).findAllRows();
+    }
+
+    @Test
+    void findEmployeePageTestPositive() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
+        when(employeeRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(employeeRepository.findAllRowsByIdIn(anyCollection()))
+                .thenReturn(Arrays.asList(createEmployeeRow(1L), createEmployeeRow(2L)));
+        mockMvc.perform(get(URL + "/page").param("size", "2").header("Authorization", "Bearer " + createToken()))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.employeeDtos", hasSize(2)))
+                .andExpect(jsonPath("$.employeeDtos[0].id").value(1L))
+                .andExpect(jsonPath("$.nextAfterId").value(2L))
+                .andExpect(status().isOk());
+        verify(userRepository, times(1)).findByEmail(anyString());
+        verify(employeeRepository, times(1)).findIdsAfter(eq(0L), eq(PageRequest.of(0, 2)));
+        verify(employeeRepository, times(1)).findAllRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    void findEmployeePageTestPositiveLastPage() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
+        when(employeeRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        mockMvc.perform(get(URL + "/page").param("afterId", "2").header("Authorization", "Bearer " + createToken()))
+                .andExpect(jsonPath("$.employeeDtos", hasSize(0)))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist())
+                .andExpect(status().isOk());
+        verify(employeeRepository, times(1)).findIdsAfter(eq(2L), eq(PageRequest.of(0, 100)));
+        verify(employeeRepository, times(0)).findAllRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    void findEmployeePageTestNegativeInvalidSize() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
+        mockMvc.perform(get(URL + "/page").param("size", "1001").header("Authorization", "Bearer " + createToken()))
+                .andExpect(status().isBadRequest());
+        verify(employeeRepository, times(0)).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void findEmployeePageTestNegativeForbidden() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
+        mockMvc.perform(get(URL + "/page").header("Authorization", "Bearer " + createToken()))
+                .andExpect(status().isForbidden());
+        verify(employeeRepository, times(0)).findIdsAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void exportEmployeesTestPositive() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("ADMIN"));
+        when(employeeRepository.streamAllRows())
+                .thenReturn(Stream.of(createEmployeeRow(1L), createEmployeeRow(1L), createEmployeeRow(2L)));
+        MvcResult mvcResult = mockMvc.perform(get(URL + "/export").header("Authorization", "Bearer " + createToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk());
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], EmployeeDto.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], EmployeeDto.class).getId());
+        verify(employeeRepository, times(1)).streamAllRows();
+    }
+
+    @Test
+    void exportEmployeesTestNegativeForbidden() throws Exception {
+        when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
+        mockMvc.perform(get(URL + "/export").header("Authorization", "Bearer " + createToken()))
+                .andExpect(status().isForbidden());
+        verify(employeeRepository, times(0)).streamAllRows();
     }
 
     @Test
@@ -153,7 +252,7 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.firstName").value("First name"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).findById(anyLong());
     }
 
@@ -163,7 +262,7 @@ public class EmployeeControllerTest {
         when(employeeRepository.findById(anyLong())).thenReturn(Optional.empty());
         mockMvc.perform(get(URL + "/1").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).findById(anyLong());
     }
 
@@ -172,7 +271,7 @@ public class EmployeeControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
         mockMvc.perform(get(URL + "/2").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).findById(anyLong());
     }
 
@@ -197,7 +296,7 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.firstName").value("First name"))
                 .andExpect(status().isCreated());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).save(any(EmployeeEntity.class));
     }
 
@@ -211,7 +310,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).save(any(EmployeeEntity.class));
     }
 
@@ -224,7 +323,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).save(any(EmployeeEntity.class));
     }
 
@@ -254,7 +353,7 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.firstName").value("First name"))
                 .andExpect(status().isCreated());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(1)).save(any(EmployeeEntity.class));
     }
@@ -269,7 +368,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(employeeRepository, times(0)).save(any(EmployeeEntity.class));
     }
@@ -284,7 +383,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(0)).save(any(EmployeeEntity.class));
     }
@@ -298,7 +397,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).save(any(EmployeeEntity.class));
     }
 
@@ -320,7 +419,7 @@ public class EmployeeControllerTest {
         when(employeeRepository.existsById(anyLong())).thenReturn(true);
         mockMvc.perform(delete(URL + "/1").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isNoContent());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(1)).deleteById(anyLong());
     }
@@ -331,7 +430,7 @@ public class EmployeeControllerTest {
         when(employeeRepository.existsById(anyLong())).thenReturn(false);
         mockMvc.perform(delete(URL + "/1").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(0)).deleteById(anyLong());
     }
@@ -341,7 +440,7 @@ public class EmployeeControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
         mockMvc.perform(delete(URL + "/1").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(employeeRepository, times(0)).deleteById(anyLong());
     }
@@ -365,39 +464,52 @@ public class EmployeeControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
         when(employeeRepository.existsById(anyLong())).thenReturn(true);
         when(employeeRepository.findAllByIdIn(anySet())).thenReturn(employeeEntities);
-        when(kafkaProducer.requestAndReceiveEvents(anySet(), anyString(), anyString())).thenReturn(eventDtos);
-        mockMvc.perform(get(URL + "/1/2023-01-01/2024-01-01").header("Authorization", "Bearer " + createToken()))
+        when(kafkaProducer.requestEvents(anySet(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(eventDtos));
+        MvcResult mvcResult = mockMvc.perform(get(URL + "/1/2023-01-01/2024-01-01")
+                        .header("Authorization", "Bearer " + createToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].title").value("Title"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(1)).findAllByIdIn(anySet());
-        verify(kafkaProducer, times(1)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(1)).requestEvents(anySet(), anyString(), anyString());
     }
 
     @Test
     void findAttendedEventsBetweenTestNegativeNotFound() throws Exception {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
         when(employeeRepository.existsById(anyLong())).thenReturn(false);
-        mockMvc.perform(get(URL + "/1/2023-01-01/2024-01-01").header("Authorization", "Bearer " + createToken()))
+        MvcResult mvcResult = mockMvc.perform(get(URL + "/1/2023-01-01/2024-01-01")
+                        .header("Authorization", "Bearer " + createToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
-        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(0)).requestEvents(anySet(), anyString(), anyString());
     }
 
     @Test
     void findAttendedEventsBetweenTestNegativeForbidden() throws Exception {
         when(userRepository.findByEmail(anyString())).thenReturn(createUserEntity("USER"));
-        mockMvc.perform(get(URL + "/2/2023-01-01/2024-01-01").header("Authorization", "Bearer " + createToken()))
+        MvcResult mvcResult = mockMvc.perform(get(URL + "/2/2023-01-01/2024-01-01")
+                        .header("Authorization", "Bearer " + createToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
-        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(0)).requestEvents(anySet(), anyString(), anyString());
     }
 
     @Test
@@ -407,7 +519,7 @@ public class EmployeeControllerTest {
         verify(userRepository, times(0)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
-        verify(kafkaProducer, times(0)).requestAndReceiveEvents(anySet(), anyString(), anyString());
+        verify(kafkaProducer, times(0)).requestEvents(anySet(), anyString(), anyString());
     }
 
     @Test
@@ -424,7 +536,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(eventIdRepository, times(1)).findById(anyLong());
         verify(employeeRepository, times(1)).findAllByIdIn(anySet());
@@ -441,7 +553,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(eventIdRepository, times(0)).findById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
@@ -458,7 +570,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(1)).existsById(anyLong());
         verify(eventIdRepository, times(0)).findById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
@@ -474,7 +586,7 @@ public class EmployeeControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(employeeRepository, times(0)).existsById(anyLong());
         verify(eventIdRepository, times(0)).findById(anyLong());
         verify(employeeRepository, times(0)).findAllByIdIn(anySet());
@@ -516,6 +628,12 @@ public class EmployeeControllerTest {
         return Optional.of(userEntity);
     }
 
+    private EmployeeRow createEmployeeRow(Long id) {
+        return new EmployeeRow(id, "First name", "Last name", "email@email.com", "+37100000000",
+                1L, "Developer", 1L, "Riga office", "Street 1", "Riga", "LV", "Latvia",
+                LocalTime.parse("10:00:00"), LocalTime.parse("18:00:00"), 1L);
+    }
+
     private EmployeeEntity createEmployeeEntity() {
         EmployeeEntity employeeEntity = new EmployeeEntity();
         employeeEntity.setId(1L);
@@ -528,8 +646,8 @@ public class EmployeeControllerTest {
         employeeEntity.setWorkingStartTime(LocalTime.parse("09:00:00"));
         employeeEntity.setWorkingEndTime(LocalTime.parse("18:00:00"));
         Set<EventIdEntity> eventIdEntities = new HashSet<>();
-        eventIdEntities.add(new EventIdEntity(1L, Collections.emptySet()));
-        eventIdEntities.add(new EventIdEntity(2L, Collections.emptySet()));
+        eventIdEntities.add(new EventIdEntity(1L, Collections.emptySet(), null, null, null, null));
+        eventIdEntities.add(new EventIdEntity(2L, Collections.emptySet(), null, null, null, null));
         employeeEntity.setEventIdEntities(eventIdEntities);
         return employeeEntity;
     }
@@ -4,19 +4,24 @@ import com.emansy.employeeservice.business.mappers.CountryMapperImpl;
 import com.emansy.employeeservice.business.mappers.EmployeeMapperImpl;
 import com.emansy.employeeservice.business.mappers.JobTitleMapperImpl;
 import com.emansy.employeeservice.business.mappers.OfficeMapperImpl;
+import com.emansy.employeeservice.business.mappers.PasswordMapper;
 import com.emansy.employeeservice.business.mappers.UserMapperImpl;
 import com.emansy.employeeservice.business.repository.EmployeeRepository;
 import com.emansy.employeeservice.business.repository.EventIdRepository;
+import com.emansy.employeeservice.business.repository.RefreshTokenRepository;
 import com.emansy.employeeservice.business.repository.UserRepository;
 import com.emansy.employeeservice.business.repository.model.UserEntity;
+import com.emansy.employeeservice.business.service.CacheStatisticsService;
 import com.emansy.employeeservice.business.service.TokenService;
+import com.emansy.employeeservice.business.service.impl.AttendanceIndex;
 import com.emansy.employeeservice.business.service.impl.EmployeeServiceImpl;
+import com.emansy.employeeservice.business.service.impl.SchedulingEngine;
 import com.emansy.employeeservice.business.service.impl.UserServiceImpl;
-import com.emansy.employeeservice.config.PublicHolidayRestTemplate;
 import com.emansy.employeeservice.config.SecurityConfig;
 import com.emansy.employeeservice.kafka.KafkaProducer;
 import com.emansy.employeeservice.model.LoginDto;
 import com.emansy.employeeservice.model.UserDto;
+import com.emansy.employeeservice.security.SecurityUserCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,11 +53,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(properties = "security.rate-limit.enabled=false")
 @Import({SecurityConfig.class,
         TokenService.class,
         UserServiceImpl.class,
         UserMapperImpl.class,
+        PasswordMapper.class,
         EmployeeServiceImpl.class,
         EmployeeMapperImpl.class,
         JobTitleMapperImpl.class,
@@ -75,6 +81,9 @@ public class UserControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
     @MockBean
     private EventIdRepository eventIdRepository;
 
@@ -85,7 +94,16 @@ public class UserControllerTest {
     private KafkaProducer kafkaProducer;
 
     @MockBean
-    private PublicHolidayRestTemplate publicHolidayRestTemplate;
+    private SchedulingEngine schedulingEngine;
+
+    @MockBean
+    private AttendanceIndex attendanceIndex;
+
+    @MockBean
+    private SecurityUserCache securityUserCache;
+
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
 
     @Test
     void findAllUsersTestPositive() throws Exception {
@@ -97,7 +115,7 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].email").value("email@email.com"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findAll();
     }
 
@@ -106,7 +124,7 @@ public class UserControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(createUserEntity("USER")));
         mockMvc.perform(get(URL).header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findAll();
     }
 
@@ -127,7 +145,7 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.email").value("email@email.com"))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findById(anyLong());
     }
 
@@ -137,7 +155,7 @@ public class UserControllerTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
         mockMvc.perform(get(URL + "/1").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isNotFound());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findById(anyLong());
     }
 
@@ -146,7 +164,7 @@ public class UserControllerTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(createUserEntity("USER")));
         mockMvc.perform(get(URL + "/2").header("Authorization", "Bearer " + createToken()))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findById(anyLong());
     }
 
@@ -168,7 +186,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).existsByIdOrEmail(anyLong(), anyString());
         verify(userRepository, times(1)).save(any(UserEntity.class));
     }
@@ -183,7 +201,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).existsByIdOrEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -197,7 +215,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).existsByIdOrEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -225,7 +243,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(1)).delete(any(UserEntity.class));
     }
@@ -240,7 +258,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).delete(any(UserEntity.class));
     }
@@ -254,7 +272,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).delete(any(UserEntity.class));
     }
@@ -282,7 +300,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(1)).save(any(UserEntity.class));
     }
@@ -297,7 +315,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -311,7 +329,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -339,7 +357,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(1)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(1)).save(any(UserEntity.class));
     }
@@ -354,7 +372,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -369,7 +387,7 @@ public class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(userRepository, times(2)).findByEmail(anyString());
+        verify(userRepository, times(1)).findByEmail(anyString());
         verify(userRepository, times(0)).findByIdAndEmail(anyLong(), anyString());
         verify(userRepository, times(0)).save(any(UserEntity.class));
     }
@@ -0,0 +1,18 @@
+create table country (code varchar(255) not null, name varchar(255), primary key (code));
+create table employee (id bigint not null auto_increment, email varchar(255), first_name varchar(255), last_name varchar(255), phone varchar(255), working_end_time time, working_start_time time, job_title_id bigint, office_id bigint, primary key (id));
+create table event_ (id bigint not null, primary key (id));
+create table event_attended (event_id bigint not null, employee_id bigint not null, primary key (employee_id, event_id));
+create table job_title (id bigint not null auto_increment, name varchar(255), primary key (id));
+create table office (id bigint not null auto_increment, city varchar(255), name varchar(255), street_address varchar(255), country_code varchar(255), primary key (id));
+create table user_data (id bigint not null, email varchar(255), password varchar(255), role varchar(255), primary key (id));
+alter table employee add constraint FKbejtwvg9bxus2mffsm3swj3u9 foreign key (job_title_id) references job_title (id);
+alter table employee add constraint FK4g3c4fmyj2ws5jsg0v0sf4kd3 foreign key (office_id) references office (id);
+alter table event_attended add constraint FK7iuhvw4o2qb9m8y9j0kc2a0mv foreign key (employee_id) references employee (id);
+alter table event_attended add constraint FKq3sp8wy26ngbf3v5b0pbfh5oy foreign key (event_id) references event_ (id);
+alter table office add constraint FKhv0u6vlmyxp3uh9db4h0x4b7n foreign key (country_code) references country (code);
+insert into country (code, name) values ('LV', 'Latvia');
+insert into office (id, name, country_code) values (1, 'Riga', 'LV');
+insert into employee (id, first_name, office_id) values (1, 'First', 1), (2, 'Second', 1);
+insert into event_ (id) values (1), (2);
+insert into event_attended (event_id, employee_id) values (1, 1), (1, 2), (2, 1);
+insert into user_data (id, email, role) values (1, 'email@email.com', 'ADMIN');